@@ -4,7 +4,10 @@ import java.util.Collections;
 import java.util.Map;
 import java.util.Properties;
 
+import com.jockie.config.impl.CachingConfig;
+import com.jockie.config.impl.ConfigBuilder;
 import com.jockie.config.impl.EnvironmentVariablesConfig;
+import com.jockie.config.impl.LayeredConfig;
 import com.jockie.config.impl.MapConfig;
 import com.jockie.config.impl.PropertiesConfig;
 import com.jockie.config.impl.SystemPropertiesConfig;
@@ -28,7 +31,8 @@ public class ConfigFactory {
 	}
 	
 	public static IConfig systemProperties(String prefix) {
-		return new SystemPropertiesConfig().getConfig(prefix, ConfigFactory.empty());
+		/* Only the properties with the prefix are read */
+		return new SystemPropertiesConfig(prefix);
 	}
 	
 	public static MapConfig fromProperties(Properties properties) {
@@ -39,6 +43,41 @@ public class ConfigFactory {
 		return new MapConfig(map);
 	}
 	
+	/**
+	 * @see MapConfig#MapConfig(Map, int)
+	 */
+	public static MapConfig fromMap(Map<String, ?> map, int parallelThreshold) {
+		return new MapConfig(map, parallelThreshold);
+	}
+	
+	/**
+	 * @see ConfigBuilder
+	 */
+	public static ConfigBuilder builder() {
+		return new ConfigBuilder();
+	}
+	
+	/**
+	 * @see ConfigBuilder#ConfigBuilder(IConfig)
+	 */
+	public static ConfigBuilder builder(IConfig config) {
+		return new ConfigBuilder(config);
+	}
+	
+	/**
+	 * @see LayeredConfig
+	 */
+	public static LayeredConfig layered(IConfig... configs) {
+		return new LayeredConfig(configs);
+	}
+	
+	/**
+	 * @see CachingConfig
+	 */
+	public static CachingConfig caching(IConfig config) {
+		return new CachingConfig(config);
+	}
+	
 	public static <T> T create(IConfig config, Class<T> clazz) {
 		if(AbstractFieldConfig.class.isAssignableFrom(clazz)) {
 			@SuppressWarnings("unchecked")
@@ -0,0 +1,144 @@
+package com.jockie.config;
+
+import java.util.Objects;
+
+import com.jockie.config.utility.CompiledPath;
+import com.jockie.config.utility.DataTypeUtility;
+import com.jockie.config.utility.MapUtility;
+
+/**
+ * A pre-compiled handle for a config property, the path is only parsed once
+ * which makes this suitable for properties which are read frequently.
+ * <br><br>
+ * Example
+ * <pre>
+ * private static final ConfigKey&#60;Integer&#62; MAX_VOLUME = IConfig.key("player.volume.max", int.class);
+ * 
+ * int maxVolume = MAX_VOLUME.getInt(config);
+ * </pre>
+ */
+public class ConfigKey<T> {
+	
+	private final String key;
+	private final CompiledPath compiledPath;
+	
+	private final Class<T> type;
+	private final Class<?> boxedType;
+	
+	private final T defaultValue;
+	
+	public ConfigKey(String key, Class<T> type, T defaultValue) {
+		this.key = Objects.requireNonNull(key);
+		this.compiledPath = CompiledPath.compile(key);
+		
+		this.type = type;
+		this.boxedType = type != null ? DataTypeUtility.getBoxedClass(type) : null;
+		
+		this.defaultValue = defaultValue;
+	}
+	
+	public ConfigKey(String key, Class<T> type) {
+		this(key, type, type != null ? DataTypeUtility.getDefaultValue(type) : null);
+	}
+	
+	public String getKey() {
+		return this.key;
+	}
+	
+	/**
+	 * @return the compiled path if the key contains an index or wildcard, "hosts[0].port", otherwise null
+	 */
+	public CompiledPath getCompiledPath() {
+		return this.compiledPath;
+	}
+	
+	public Class<T> getType() {
+		return this.type;
+	}
+	
+	public T getDefaultValue() {
+		return this.defaultValue;
+	}
+	
+	/**
+	 * @return whether or not the raw value can be returned as it is, without any conversion
+	 */
+	public boolean isInstance(Object value) {
+		return value == null || this.boxedType == null || this.boxedType.isInstance(value);
+	}
+	
+	public boolean has(IConfig config) {
+		return config.getRaw(this) != MapUtility.MISSING;
+	}
+	
+	public T get(IConfig config) {
+		return config.get(this, this.defaultValue);
+	}
+	
+	public T get(IConfig config, T defaultValue) {
+		return config.get(this, defaultValue);
+	}
+	
+	/*
+	 * The primitive getters below avoid boxing the value when the stored value
+	 * is already a number or boolean, which is the case for most parsed configs.
+	 * Without a default value they use the default value of the key, or 0 and false if it has none.
+	 */
+	
+	public long getLong(IConfig config, long defaultValue) {
+		Object value = config.getRaw(this);
+		if(value == MapUtility.MISSING) {
+			return defaultValue;
+		}
+		
+		return DataTypeUtility.toLong(value);
+	}
+	
+	public long getLong(IConfig config) {
+		return this.getLong(config, this.defaultValue != null ? DataTypeUtility.toLong(this.defaultValue) : 0L);
+	}
+	
+	public int getInt(IConfig config, int defaultValue) {
+		Object value = config.getRaw(this);
+		if(value == MapUtility.MISSING) {
+			return defaultValue;
+		}
+		
+		return DataTypeUtility.toInt(value);
+	}
+	
+	public int getInt(IConfig config) {
+		return this.getInt(config, this.defaultValue != null ? DataTypeUtility.toInt(this.defaultValue) : 0);
+	}
+	
+	public double getDouble(IConfig config, double defaultValue) {
+		Object value = config.getRaw(this);
+		if(value == MapUtility.MISSING) {
+			return defaultValue;
+		}
+		
+		return DataTypeUtility.toDouble(value);
+	}
+	
+	public double getDouble(IConfig config) {
+		return this.getDouble(config, this.defaultValue != null ? DataTypeUtility.toDouble(this.defaultValue) : 0.0D);
+	}
+	
+	public boolean getBoolean(IConfig config, boolean defaultValue) {
+		Object value = config.getRaw(this);
+		if(value == MapUtility.MISSING) {
+			return defaultValue;
+		}
+		
+		return DataTypeUtility.toBoolean(value);
+	}
+	
+	public boolean getBoolean(IConfig config) {
+		return this.getBoolean(config, this.defaultValue != null ? DataTypeUtility.toBoolean(this.defaultValue) : false);
+	}
+	
+	@Override
+	public String toString() {
+		return this.key + " (" + (this.type != null ? this.type.getSimpleName() : null) + ")";
+	}
+}
\ No newline at end of file
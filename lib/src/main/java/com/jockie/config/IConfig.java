@@ -1,15 +1,44 @@
 package com.jockie.config;
 
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
+import com.jockie.config.collection.IntSet;
+import com.jockie.config.collection.LongSet;
+import com.jockie.config.impl.ConfigValue;
+import com.jockie.config.impl.MapConfig;
+import com.jockie.config.impl.ResolvingConfig;
+import com.jockie.config.utility.ConfigCompactor;
 import com.jockie.config.utility.DataTypeUtility;
+import com.jockie.config.utility.MapUtility;
 
 public interface IConfig {
 	
+	/**
+	 * Compiles the key once so that it can be used for repeated lookups
+	 * without having to parse the path every time
+	 * 
+	 * @see ConfigKey
+	 */
+	public static <T> ConfigKey<T> key(String key, Class<T> type) {
+		return new ConfigKey<>(key, type);
+	}
+	
+	/**
+	 * @see #key(String, Class)
+	 */
+	public static <T> ConfigKey<T> key(String key, Class<T> type, T defaultValue) {
+		return new ConfigKey<>(key, type, defaultValue);
+	}
+	
 	/**
 	 * Merge multiple configs, they are merged in the order specified,
 	 * meaning a value specified in the first config will be overwritten
@@ -29,26 +58,220 @@ public interface IConfig {
 		return this.resolve(this);
 	}
 	
+	/**
+	 * Same as {@link #resolve(IConfig)} but each value is only resolved the first time it is read,
+	 * values which are never read are never resolved, see {@link ResolvingConfig}
+	 */
+	public default IConfig resolveLazily(IConfig config) {
+		return new ResolvingConfig(this, config);
+	}
+	
+	/**
+	 * @see #resolveLazily(IConfig)
+	 */
+	public default IConfig resolveLazily() {
+		return this.resolveLazily(this);
+	}
+	
+	/**
+	 * Creates a copy of the config where equal keys and values share a single instance,
+	 * see {@link ConfigCompactor}
+	 * 
+	 * @param compactor the compactor to use, the same compactor can be used for multiple configs
+	 * so that they share their values, it also reports how many bytes were saved
+	 */
+	public default IConfig compact(ConfigCompactor compactor) {
+		/* The compacted map is frozen and expanded, the constructor reuses it as it is, see MapUtility#freeze(Map, boolean) */
+		return new MapConfig(compactor.compact(this));
+	}
+	
+	/**
+	 * @see #compact(ConfigCompactor)
+	 */
+	public default IConfig compact() {
+		return this.compact(new ConfigCompactor());
+	}
+	
 	public Map<String, Object> asMap();
 	public Set<String> keys();
 	
+	/**
+	 * Walks the whole config, this does not copy the config
+	 * 
+	 * @see IConfigVisitor
+	 */
+	public default void accept(IConfigVisitor visitor) {
+		MapUtility.visit(this.asMap(), visitor);
+	}
+	
 	public boolean has(String key);
 	
 	public <T> T get(String key, Class<T> type, T defaultValue);
 	
+	/**
+	 * @return the raw (unconverted) value or {@link MapUtility#MISSING} if there is no value
+	 */
+	public default Object getRaw(String key) {
+		/* No type returns the value as it is, the default value is only returned if there is no value */
+		return this.get(key, null, MapUtility.MISSING);
+	}
+	
+	/**
+	 * @see #getRaw(String)
+	 */
+	public default Object getRaw(ConfigKey<?> key) {
+		return this.getRaw(key.getKey());
+	}
+	
+	public default <T> T get(ConfigKey<T> key, T defaultValue) {
+		return this.get(key.getKey(), key.getType(), defaultValue);
+	}
+	
+	public default <T> T get(ConfigKey<T> key) {
+		return this.get(key, key.getDefaultValue());
+	}
+	
+	/**
+	 * Looks up the key once, the returned value can then be checked for presence
+	 * and converted without having to look the key up again, this should be preferred
+	 * over calling {@link #has(String)} followed by {@link #get(String, Class)}.
+	 * 
+	 * @return the value, this is never null, if there is no value it will not be {@link IConfigValue#isPresent() present}
+	 */
+	public default IConfigValue find(String key) {
+		return new ConfigValue(this, key, this.getRaw(key));
+	}
+	
+	/**
+	 * Looks up multiple keys at once, implementations may share the traversal
+	 * of the common parts of the keys, such as "x.y.a" and "x.y.b".
+	 * 
+	 * @return the values by their key, keys without a value are included
+	 * but are not {@link IConfigValue#isPresent() present}
+	 */
+	public default Map<String, IConfigValue> getAll(Collection<String> keys) {
+		Map<String, IConfigValue> values = new HashMap<>();
+		for(String key : keys) {
+			values.put(key, this.find(key));
+		}
+		
+		return values;
+	}
+	
+	/**
+	 * @see #getAll(Collection)
+	 */
+	public default Map<String, IConfigValue> getAll(String... keys) {
+		return this.getAll(Arrays.asList(keys));
+	}
+	
 	public <T> List<T> getList(String key, Class<T> elementType, List<T> defaultValue);
 	
+	/**
+	 * Calls the action for each element in the list, implementations may convert
+	 * the elements one by one without creating the converted list first.
+	 */
+	public default <T> void forEach(String key, Class<T> elementType, Consumer<? super T> action) {
+		this.getList(key, elementType).forEach(action);
+	}
+	
+	/**
+	 * Streams the elements in the list, implementations may convert the elements
+	 * lazily, which means short-circuiting operations such as {@link Stream#anyMatch}
+	 * only convert the elements they need.
+	 */
+	public default <T> Stream<T> stream(String key, Class<T> elementType) {
+		return this.getList(key, elementType).stream();
+	}
+	
 	public default <T> Set<T> getSet(String key, Class<T> elementType, Set<T> defaultValue) {
 		List<T> list = this.getList(key, elementType, null);
 		if(list == null) {
 			return defaultValue;
 		}
 		
-		return new HashSet<>(list);
+		return DataTypeUtility.createSet(elementType, list);
 	}
 	
 	public <K, V> Map<K, V> getMap(String key, Class<K> keyType, Class<V> valueType, Map<K, V> defaultValue);
 	
+	/*
+	 * The primitive arrays are converted directly from the stored values,
+	 * without creating a boxed List first.
+	 */
+	
+	public default long[] getLongArray(String key, long[] defaultValue) {
+		List<?> list = this.get(key, List.class, null);
+		if(list == null) {
+			return defaultValue;
+		}
+		
+		return DataTypeUtility.toLongArray(list);
+	}
+	
+	public default int[] getIntArray(String key, int[] defaultValue) {
+		List<?> list = this.get(key, List.class, null);
+		if(list == null) {
+			return defaultValue;
+		}
+		
+		return DataTypeUtility.toIntArray(list);
+	}
+	
+	public default double[] getDoubleArray(String key, double[] defaultValue) {
+		List<?> list = this.get(key, List.class, null);
+		if(list == null) {
+			return defaultValue;
+		}
+		
+		return DataTypeUtility.toDoubleArray(list);
+	}
+	
+	/**
+	 * @return the list as a set of primitive longs, which uses a lot less memory than a
+	 * {@link HashSet} and does not box the value when using {@link LongSet#contains(long)}
+	 */
+	public default LongSet getLongSet(String key, LongSet defaultValue) {
+		long[] array = this.getLongArray(key, null);
+		if(array == null) {
+			return defaultValue;
+		}
+		
+		return LongSet.of(array);
+	}
+	
+	/**
+	 * @see #getLongSet(String, LongSet)
+	 */
+	public default IntSet getIntSet(String key, IntSet defaultValue) {
+		int[] array = this.getIntArray(key, null);
+		if(array == null) {
+			return defaultValue;
+		}
+		
+		return IntSet.of(array);
+	}
+	
+	public default long[] getLongArray(String key) {
+		return this.getLongArray(key, new long[0]);
+	}
+	
+	public default int[] getIntArray(String key) {
+		return this.getIntArray(key, new int[0]);
+	}
+	
+	public default double[] getDoubleArray(String key) {
+		return this.getDoubleArray(key, new double[0]);
+	}
+	
+	public default LongSet getLongSet(String key) {
+		return this.getLongSet(key, LongSet.empty());
+	}
+	
+	public default IntSet getIntSet(String key) {
+		return this.getIntSet(key, IntSet.empty());
+	}
+	
 	public default <T> T get(String key, Class<T> type) {
 		return this.get(key, type, DataTypeUtility.getDefaultValue(type));
 	}
@@ -0,0 +1,130 @@
+package com.jockie.config;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.jockie.config.collection.IntSet;
+import com.jockie.config.collection.LongSet;
+import com.jockie.config.utility.DataTypeUtility;
+import com.jockie.config.utility.MapUtility;
+
+/**
+ * The result of a lookup, this holds the raw value which was found at the key
+ * and allows it to be converted without having to look it up again.
+ * 
+ * @see IConfig#getAll(java.util.Collection)
+ */
+public interface IConfigValue {
+	
+	/**
+	 * @return the key this value was looked up with
+	 */
+	public String getKey();
+	
+	/**
+	 * @return the raw (unconverted) value or {@link MapUtility#MISSING} if there is no value
+	 */
+	public Object getRaw();
+	
+	public default boolean isPresent() {
+		return this.getRaw() != MapUtility.MISSING;
+	}
+	
+	public <T> T get(Class<T> type, T defaultValue);
+	
+	public <T> List<T> getList(Class<T> elementType, List<T> defaultValue);
+	
+	public default <T> Set<T> getSet(Class<T> elementType, Set<T> defaultValue) {
+		List<T> list = this.getList(elementType, null);
+		if(list == null) {
+			return defaultValue;
+		}
+		
+		return DataTypeUtility.createSet(elementType, list);
+	}
+	
+	public <K, V> Map<K, V> getMap(Class<K> keyType, Class<V> valueType, Map<K, V> defaultValue);
+	
+	public default long[] getLongArray(long[] defaultValue) {
+		List<?> list = this.get(List.class, null);
+		if(list == null) {
+			return defaultValue;
+		}
+		
+		return DataTypeUtility.toLongArray(list);
+	}
+	
+	public default int[] getIntArray(int[] defaultValue) {
+		List<?> list = this.get(List.class, null);
+		if(list == null) {
+			return defaultValue;
+		}
+		
+		return DataTypeUtility.toIntArray(list);
+	}
+	
+	public default double[] getDoubleArray(double[] defaultValue) {
+		List<?> list = this.get(List.class, null);
+		if(list == null) {
+			return defaultValue;
+		}
+		
+		return DataTypeUtility.toDoubleArray(list);
+	}
+	
+	public default <T> T get(Class<T> type) {
+		return this.get(type, DataTypeUtility.getDefaultValue(type));
+	}
+	
+	public default <T> List<T> getList(Class<T> elementType) {
+		return this.getList(elementType, Collections.emptyList());
+	}
+	
+	public default <T> Set<T> getSet(Class<T> elementType) {
+		return this.getSet(elementType, Collections.emptySet());
+	}
+	
+	public default <K, V> Map<K, V> getMap(Class<K> keyType, Class<V> valueType) {
+		return this.getMap(keyType, valueType, Collections.emptyMap());
+	}
+	
+	public default LongSet getLongSet(LongSet defaultValue) {
+		long[] array = this.getLongArray(null);
+		if(array == null) {
+			return defaultValue;
+		}
+		
+		return LongSet.of(array);
+	}
+	
+	public default IntSet getIntSet(IntSet defaultValue) {
+		int[] array = this.getIntArray(null);
+		if(array == null) {
+			return defaultValue;
+		}
+		
+		return IntSet.of(array);
+	}
+	
+	public default long[] getLongArray() {
+		return this.getLongArray(new long[0]);
+	}
+	
+	public default int[] getIntArray() {
+		return this.getIntArray(new int[0]);
+	}
+	
+	public default double[] getDoubleArray() {
+		return this.getDoubleArray(new double[0]);
+	}
+	
+	public default LongSet getLongSet() {
+		return this.getLongSet(LongSet.empty());
+	}
+	
+	public default IntSet getIntSet() {
+		return this.getIntSet(IntSet.empty());
+	}
+}
\ No newline at end of file
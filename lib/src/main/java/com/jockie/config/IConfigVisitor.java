@@ -0,0 +1,45 @@
+package com.jockie.config;
+
+/**
+ * Visitor for walking the tree of a config without having to copy it,
+ * see {@link IConfig#accept(IConfigVisitor)}.
+ * <br><br>
+ * The key is the key of the entry in the parent map, for the root and
+ * the elements of a list the key is null.
+ */
+public interface IConfigVisitor {
+	
+	/**
+	 * Called for a map or list which is already frozen, see {@link com.jockie.config.collection.FrozenMap FrozenMap}
+	 * and {@link com.jockie.config.collection.FrozenList FrozenList}, this allows the whole node to be reused as it
+	 * is, such as when merging configs, instead of visiting every entry.
+	 * 
+	 * @return true if the node was handled, false to visit the node as a normal map or list
+	 */
+	public default boolean visitFrozen(Object key, Object node) {
+		return false;
+	}
+	
+	/**
+	 * @return whether or not to visit the entries of the map, {@link #exitMap()} is only called if true is returned
+	 */
+	public default boolean enterMap(Object key, int size) {
+		return true;
+	}
+	
+	public default void exitMap() {}
+	
+	/**
+	 * @return whether or not to visit the elements of the list, {@link #exitList()} is only called if true is returned
+	 */
+	public default boolean enterList(Object key, int size) {
+		return true;
+	}
+	
+	public default void exitList() {}
+	
+	/**
+	 * Called for every value which is not a map or a list
+	 */
+	public void value(Object key, Object value);
+}
\ No newline at end of file
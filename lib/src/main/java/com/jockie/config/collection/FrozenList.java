@@ -0,0 +1,72 @@
+package com.jockie.config.collection;
+
+import java.util.AbstractList;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Deeply unmodifiable list used for the nodes of a config, see {@link FrozenMap}
+ */
+public class FrozenList<E> extends AbstractList<E> implements RandomAccess {
+	
+	private static final FrozenList<?> EMPTY = new FrozenList<>(new Object[0]);
+	
+	@SuppressWarnings("unchecked")
+	public static <E> FrozenList<E> empty() {
+		return (FrozenList<E>) FrozenList.EMPTY;
+	}
+	
+	private final Object[] elements;
+	
+	/** The cached hash code, 0 if it has not been computed yet */
+	private int hash;
+	
+	/**
+	 * @param elements the elements of the list, this is not copied and must not be modified afterwards
+	 */
+	public FrozenList(Object[] elements) {
+		this.elements = elements;
+	}
+	
+	@Override
+	@SuppressWarnings("unchecked")
+	public E get(int index) {
+		return (E) this.elements[index];
+	}
+	
+	@Override
+	public int size() {
+		return this.elements.length;
+	}
+	
+	/**
+	 * The hash code is cached, see {@link FrozenMap#hashCode()}
+	 */
+	@Override
+	public int hashCode() {
+		int hash = this.hash;
+		if(hash == 0) {
+			hash = 1;
+			for(Object element : this.elements) {
+				hash = 31 * hash + Objects.hashCode(element);
+			}
+			
+			this.hash = hash;
+		}
+		
+		return hash;
+	}
+	
+	@Override
+	public boolean equals(Object object) {
+		if(object == this) {
+			return true;
+		}
+		
+		if(object instanceof FrozenList && ((FrozenList<?>) object).hashCode() != this.hashCode()) {
+			return false;
+		}
+		
+		return super.equals(object);
+	}
+}
\ No newline at end of file
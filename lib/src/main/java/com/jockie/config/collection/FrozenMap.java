@@ -0,0 +1,890 @@
+package com.jockie.config.collection;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * Deeply unmodifiable map used for the nodes of a config, unlike {@link Collections#unmodifiableMap(Map)}
+ * this can be recognized, which allows a frozen map to be reused as it is instead of being copied
+ * again when a new config is created from it.
+ * <br><br>
+ * A frozen map must only contain other frozen maps, {@link FrozenList}s or non-collection values.
+ * <br><br>
+ * The map is a persistent hash array mapped trie, {@link #with(Object, Object)} returns a new map
+ * which only copies the nodes on the path to the changed key, all other nodes are shared with this map.
+ * Small maps are stored as a single exact-size array of the keys and values sorted by the hash of the keys.
+ */
+public class FrozenMap<K, V> extends AbstractMap<K, V> {
+	
+	private static final int BITS = 5;
+	private static final int MASK = (1 << BITS) - 1;
+	
+	/** Returned by the nodes when there is no value for the key, null is a valid value */
+	private static final Object NOT_FOUND = new Object();
+	
+	private static int hash(Object key) {
+		int hash = Objects.hashCode(key);
+		return hash ^ (hash >>> 16);
+	}
+	
+	private static int bit(int hash, int shift) {
+		return 1 << ((hash >>> shift) & MASK);
+	}
+	
+	private static abstract class Node {
+		
+		public abstract Object get(Object key, int hash, int shift);
+		
+		/**
+		 * @param owner the owner of the nodes which may be modified, null if no nodes may be modified
+		 * @param added set to true if the key was not already in the map
+		 * 
+		 * @return the new node, this node if nothing changed
+		 */
+		public abstract Node put(Object owner, Object key, Object value, int hash, int shift, boolean[] added);
+		
+		/**
+		 * @param owner the owner of the nodes which may be modified, null if no nodes may be modified
+		 * @param removed set to true if the key was in the map
+		 * 
+		 * @return the new node, this node if nothing changed
+		 */
+		public abstract Node remove(Object owner, Object key, int hash, int shift, boolean[] removed);
+		
+		public abstract int entryCount();
+		
+		public abstract Object keyAt(int index);
+		
+		public abstract Object valueAt(int index);
+		
+		public abstract int nodeCount();
+		
+		public abstract Node nodeAt(int index);
+		
+		@SuppressWarnings("unchecked")
+		public <K, V> void forEach(BiConsumer<? super K, ? super V> action) {
+			for(int i = 0, count = this.entryCount(); i < count; i++) {
+				action.accept((K) this.keyAt(i), (V) this.valueAt(i));
+			}
+			
+			for(int i = 0, count = this.nodeCount(); i < count; i++) {
+				this.nodeAt(i).forEach(action);
+			}
+		}
+	}
+	
+	/**
+	 * A node which stores up to 32 entries and child nodes, which of the 32 slots are used
+	 * is stored in the bitmaps, the array only contains the used slots, first all the keys
+	 * and values and then all the child nodes.
+	 */
+	private static class BitmapNode extends Node {
+		
+		private static final BitmapNode EMPTY = new BitmapNode(null, 0, 0, new Object[0]);
+		
+		/** The builder which is allowed to modify this node while it is being built, see {@link Builder} */
+		private Object owner;
+		
+		private int dataMap;
+		private int nodeMap;
+		
+		private Object[] array;
+		
+		public BitmapNode(Object owner, int dataMap, int nodeMap, Object[] array) {
+			this.owner = owner;
+			this.dataMap = dataMap;
+			this.nodeMap = nodeMap;
+			this.array = array;
+		}
+		
+		private int dataIndex(int bit) {
+			return Integer.bitCount(this.dataMap & (bit - 1));
+		}
+		
+		private int nodeIndex(int bit) {
+			return Integer.bitCount(this.dataMap) * 2 + Integer.bitCount(this.nodeMap & (bit - 1));
+		}
+		
+		@Override
+		public Object get(Object key, int hash, int shift) {
+			int bit = FrozenMap.bit(hash, shift);
+			if((this.dataMap & bit) != 0) {
+				int index = this.dataIndex(bit) * 2;
+				return Objects.equals(this.array[index], key) ? this.array[index + 1] : NOT_FOUND;
+			}
+			
+			if((this.nodeMap & bit) != 0) {
+				return ((Node) this.array[this.nodeIndex(bit)]).get(key, hash, shift + BITS);
+			}
+			
+			return NOT_FOUND;
+		}
+		
+		private Node update(Object owner, int dataMap, int nodeMap, Object[] array) {
+			if(owner != null && this.owner == owner) {
+				this.dataMap = dataMap;
+				this.nodeMap = nodeMap;
+				this.array = array;
+				
+				return this;
+			}
+			
+			return new BitmapNode(owner, dataMap, nodeMap, array);
+		}
+		
+		@Override
+		public Node put(Object owner, Object key, Object value, int hash, int shift, boolean[] added) {
+			int bit = FrozenMap.bit(hash, shift);
+			if((this.dataMap & bit) != 0) {
+				int index = this.dataIndex(bit) * 2;
+				
+				Object currentKey = this.array[index];
+				if(Objects.equals(currentKey, key)) {
+					if(this.array[index + 1] == value) {
+						return this;
+					}
+					
+					Object[] array = this.array.clone();
+					array[index + 1] = value;
+					
+					return this.update(owner, this.dataMap, this.nodeMap, array);
+				}
+				
+				/* Both keys are in the same slot, move them into a new child node */
+				Node node = BitmapNode.create(owner, currentKey, this.array[index + 1], FrozenMap.hash(currentKey), key, value, hash, shift + BITS);
+				added[0] = true;
+				
+				int dataMap = this.dataMap ^ bit;
+				int nodeMap = this.nodeMap | bit;
+				
+				/* The position of the node after the entry has been removed */
+				int nodeIndex = Integer.bitCount(dataMap) * 2 + Integer.bitCount(this.nodeMap & (bit - 1));
+				
+				Object[] array = new Object[this.array.length - 1];
+				System.arraycopy(this.array, 0, array, 0, index);
+				System.arraycopy(this.array, index + 2, array, index, nodeIndex - index);
+				array[nodeIndex] = node;
+				System.arraycopy(this.array, nodeIndex + 2, array, nodeIndex + 1, this.array.length - nodeIndex - 2);
+				
+				return this.update(owner, dataMap, nodeMap, array);
+			}
+			
+			if((this.nodeMap & bit) != 0) {
+				int index = this.nodeIndex(bit);
+				
+				Node node = (Node) this.array[index];
+				Node newNode = node.put(owner, key, value, hash, shift + BITS, added);
+				if(newNode == node) {
+					return this;
+				}
+				
+				Object[] array = this.array.clone();
+				array[index] = newNode;
+				
+				return this.update(owner, this.dataMap, this.nodeMap, array);
+			}
+			
+			added[0] = true;
+			
+			int index = this.dataIndex(bit) * 2;
+			
+			Object[] array = new Object[this.array.length + 2];
+			System.arraycopy(this.array, 0, array, 0, index);
+			array[index] = key;
+			array[index + 1] = value;
+			System.arraycopy(this.array, index, array, index + 2, this.array.length - index);
+			
+			return this.update(owner, this.dataMap | bit, this.nodeMap, array);
+		}
+		
+		@Override
+		public Node remove(Object owner, Object key, int hash, int shift, boolean[] removed) {
+			int bit = FrozenMap.bit(hash, shift);
+			if((this.dataMap & bit) != 0) {
+				int index = this.dataIndex(bit) * 2;
+				if(!Objects.equals(this.array[index], key)) {
+					return this;
+				}
+				
+				removed[0] = true;
+				
+				Object[] array = new Object[this.array.length - 2];
+				System.arraycopy(this.array, 0, array, 0, index);
+				System.arraycopy(this.array, index + 2, array, index, this.array.length - index - 2);
+				
+				return this.update(owner, this.dataMap ^ bit, this.nodeMap, array);
+			}
+			
+			if((this.nodeMap & bit) != 0) {
+				int index = this.nodeIndex(bit);
+				
+				Node node = (Node) this.array[index];
+				Node newNode = node.remove(owner, key, hash, shift + BITS, removed);
+				if(newNode == node) {
+					return this;
+				}
+				
+				if(newNode.nodeCount() != 0 || newNode.entryCount() > 1) {
+					Object[] array = this.array.clone();
+					array[index] = newNode;
+					
+					return this.update(owner, this.dataMap, this.nodeMap, array);
+				}
+				
+				if(newNode.entryCount() == 0) {
+					Object[] array = new Object[this.array.length - 1];
+					System.arraycopy(this.array, 0, array, 0, index);
+					System.arraycopy(this.array, index + 1, array, index, this.array.length - index - 1);
+					
+					return this.update(owner, this.dataMap, this.nodeMap ^ bit, array);
+				}
+				
+				/* The child node only has a single entry left, move it into this node */
+				int dataIndex = this.dataIndex(bit) * 2;
+				
+				Object[] array = new Object[this.array.length + 1];
+				System.arraycopy(this.array, 0, array, 0, dataIndex);
+				array[dataIndex] = newNode.keyAt(0);
+				array[dataIndex + 1] = newNode.valueAt(0);
+				System.arraycopy(this.array, dataIndex, array, dataIndex + 2, index - dataIndex);
+				System.arraycopy(this.array, index + 1, array, index + 2, this.array.length - index - 1);
+				
+				return this.update(owner, this.dataMap | bit, this.nodeMap ^ bit, array);
+			}
+			
+			return this;
+		}
+		
+		/**
+		 * @return a node containing both of the entries, which have different keys
+		 */
+		private static Node create(Object owner, Object firstKey, Object firstValue, int firstHash, Object secondKey, Object secondValue, int secondHash, int shift) {
+			if(firstHash == secondHash) {
+				return new CollisionNode(firstHash, new Object[] { firstKey, firstValue, secondKey, secondValue });
+			}
+			
+			int firstBit = FrozenMap.bit(firstHash, shift);
+			int secondBit = FrozenMap.bit(secondHash, shift);
+			
+			if(firstBit == secondBit) {
+				Node node = BitmapNode.create(owner, firstKey, firstValue, firstHash, secondKey, secondValue, secondHash, shift + BITS);
+				return new BitmapNode(owner, 0, firstBit, new Object[] { node });
+			}
+			
+			if(Integer.compareUnsigned(firstBit, secondBit) < 0) {
+				return new BitmapNode(owner, firstBit | secondBit, 0, new Object[] { firstKey, firstValue, secondKey, secondValue });
+			}
+			
+			return new BitmapNode(owner, firstBit | secondBit, 0, new Object[] { secondKey, secondValue, firstKey, firstValue });
+		}
+		
+		@Override
+		public int entryCount() {
+			return Integer.bitCount(this.dataMap);
+		}
+		
+		@Override
+		public Object keyAt(int index) {
+			return this.array[index * 2];
+		}
+		
+		@Override
+		public Object valueAt(int index) {
+			return this.array[index * 2 + 1];
+		}
+		
+		@Override
+		public int nodeCount() {
+			return Integer.bitCount(this.nodeMap);
+		}
+		
+		@Override
+		public Node nodeAt(int index) {
+			return (Node) this.array[Integer.bitCount(this.dataMap) * 2 + index];
+		}
+	}
+	
+	/**
+	 * A node for keys which have the exact same hash
+	 */
+	private static class CollisionNode extends Node {
+		
+		private final int hash;
+		private final Object[] array;
+		
+		public CollisionNode(int hash, Object[] array) {
+			this.hash = hash;
+			this.array = array;
+		}
+		
+		@Override
+		public Object get(Object key, int hash, int shift) {
+			if(hash != this.hash) {
+				return NOT_FOUND;
+			}
+			
+			for(int i = 0; i < this.array.length; i += 2) {
+				if(Objects.equals(this.array[i], key)) {
+					return this.array[i + 1];
+				}
+			}
+			
+			return NOT_FOUND;
+		}
+		
+		@Override
+		public Node put(Object owner, Object key, Object value, int hash, int shift, boolean[] added) {
+			if(hash != this.hash) {
+				/* Only the beginning of the hash is the same, split it in to a normal node */
+				BitmapNode node = new BitmapNode(owner, 0, FrozenMap.bit(this.hash, shift), new Object[] { this });
+				return node.put(owner, key, value, hash, shift, added);
+			}
+			
+			for(int i = 0; i < this.array.length; i += 2) {
+				if(Objects.equals(this.array[i], key)) {
+					if(this.array[i + 1] == value) {
+						return this;
+					}
+					
+					Object[] array = this.array.clone();
+					array[i + 1] = value;
+					
+					return new CollisionNode(this.hash, array);
+				}
+			}
+			
+			added[0] = true;
+			
+			Object[] array = new Object[this.array.length + 2];
+			System.arraycopy(this.array, 0, array, 0, this.array.length);
+			array[this.array.length] = key;
+			array[this.array.length + 1] = value;
+			
+			return new CollisionNode(this.hash, array);
+		}
+		
+		@Override
+		public Node remove(Object owner, Object key, int hash, int shift, boolean[] removed) {
+			if(hash != this.hash) {
+				return this;
+			}
+			
+			for(int i = 0; i < this.array.length; i += 2) {
+				if(Objects.equals(this.array[i], key)) {
+					removed[0] = true;
+					
+					Object[] array = new Object[this.array.length - 2];
+					System.arraycopy(this.array, 0, array, 0, i);
+					System.arraycopy(this.array, i + 2, array, i, this.array.length - i - 2);
+					
+					return new CollisionNode(this.hash, array);
+				}
+			}
+			
+			return this;
+		}
+		
+		@Override
+		public int entryCount() {
+			return this.array.length / 2;
+		}
+		
+		@Override
+		public Object keyAt(int index) {
+			return this.array[index * 2];
+		}
+		
+		@Override
+		public Object valueAt(int index) {
+			return this.array[index * 2 + 1];
+		}
+		
+		@Override
+		public int nodeCount() {
+			return 0;
+		}
+		
+		@Override
+		public Node nodeAt(int index) {
+			throw new IndexOutOfBoundsException();
+		}
+	}
+	
+	/*
+	 * Small maps, which most of the maps in a config are, are not stored as a trie, the keys and
+	 * values are stored directly in a single exact-size array, sorted by the hash of the keys, and
+	 * are found with a binary search. Once the map grows past SMALL_SIZE it is converted to a trie.
+	 */
+	
+	private static final int SMALL_SIZE = 8;
+	
+	private static final Object[] EMPTY_ARRAY = new Object[0];
+	
+	/**
+	 * @return the index of the key, or if the key is not in the array, -(insertion index) - 1
+	 */
+	private static int indexOf(Object[] array, Object key, int hash) {
+		int low = 0;
+		int high = array.length / 2;
+		while(low < high) {
+			int middle = (low + high) >>> 1;
+			
+			/* String caches its hash code so this is cheap to compute */
+			if(FrozenMap.hash(array[middle * 2]) < hash) {
+				low = middle + 1;
+			}else{
+				high = middle;
+			}
+		}
+		
+		/* low is now the first entry with the same hash, if there is any */
+		for(int index = low; index < array.length / 2; index++) {
+			Object currentKey = array[index * 2];
+			if(Objects.equals(currentKey, key)) {
+				return index;
+			}
+			
+			if(FrozenMap.hash(currentKey) != hash) {
+				return -index - 1;
+			}
+		}
+		
+		return -(array.length / 2) - 1;
+	}
+	
+	private static Object get(Object root, Object key) {
+		int hash = FrozenMap.hash(key);
+		if(root instanceof Object[]) {
+			Object[] array = (Object[]) root;
+			
+			int index = FrozenMap.indexOf(array, key, hash);
+			return index >= 0 ? array[index * 2 + 1] : NOT_FOUND;
+		}
+		
+		return ((Node) root).get(key, hash, 0);
+	}
+	
+	/**
+	 * @return the new root, the same root if nothing changed
+	 */
+	private static Object put(Object owner, Object root, Object key, Object value, boolean[] added) {
+		int hash = FrozenMap.hash(key);
+		if(!(root instanceof Object[])) {
+			return ((Node) root).put(owner, key, value, hash, 0, added);
+		}
+		
+		Object[] array = (Object[]) root;
+		
+		int index = FrozenMap.indexOf(array, key, hash);
+		if(index >= 0) {
+			if(array[index * 2 + 1] == value) {
+				return array;
+			}
+			
+			Object[] newArray = array.clone();
+			newArray[index * 2 + 1] = value;
+			
+			return newArray;
+		}
+		
+		added[0] = true;
+		
+		if(array.length / 2 == SMALL_SIZE) {
+			/* The nodes are not referenced anywhere else yet so they can use any owner if there is none */
+			Object nodeOwner = owner != null ? owner : new Object();
+			
+			boolean[] ignored = new boolean[1];
+			
+			Node node = BitmapNode.EMPTY;
+			for(int i = 0; i < array.length; i += 2) {
+				node = node.put(nodeOwner, array[i], array[i + 1], FrozenMap.hash(array[i]), 0, ignored);
+			}
+			
+			return node.put(nodeOwner, key, value, hash, 0, ignored);
+		}
+		
+		index = (-index - 1) * 2;
+		
+		Object[] newArray = new Object[array.length + 2];
+		System.arraycopy(array, 0, newArray, 0, index);
+		newArray[index] = key;
+		newArray[index + 1] = value;
+		System.arraycopy(array, index, newArray, index + 2, array.length - index);
+		
+		return newArray;
+	}
+	
+	/**
+	 * @return the new root, the same root if nothing changed
+	 */
+	private static Object remove(Object owner, Object root, Object key, boolean[] removed) {
+		int hash = FrozenMap.hash(key);
+		if(!(root instanceof Object[])) {
+			return ((Node) root).remove(owner, key, hash, 0, removed);
+		}
+		
+		Object[] array = (Object[]) root;
+		
+		int index = FrozenMap.indexOf(array, key, hash);
+		if(index < 0) {
+			return array;
+		}
+		
+		removed[0] = true;
+		
+		index *= 2;
+		
+		Object[] newArray = new Object[array.length - 2];
+		System.arraycopy(array, 0, newArray, 0, index);
+		System.arraycopy(array, index + 2, newArray, index, array.length - index - 2);
+		
+		return newArray;
+	}
+	
+	private static boolean isDotted(Object key, Object value) {
+		return (key instanceof String && ((String) key).indexOf('.') != -1)
+			|| (value instanceof FrozenMap && ((FrozenMap<?, ?>) value).dottedKeys);
+	}
+	
+	/**
+	 * Builds a frozen map without copying the nodes for every entry,
+	 * the builder can not be used after {@link #build()} has been called.
+	 * <br><br>
+	 * A builder created from an existing map, see {@link FrozenMap#toBuilder()}, shares all the nodes
+	 * of the map, a node is only copied the first time it is changed by the builder.
+	 */
+	public static class Builder<K, V> {
+		
+		private Object owner = new Object();
+		
+		private Object root;
+		private int size;
+		
+		private boolean dottedKeys;
+		
+		/* Whether or not the last put added a key or the last remove removed a key */
+		private final boolean[] changed = new boolean[1];
+		
+		private Builder(Object root, int size, boolean dottedKeys) {
+			this.root = root;
+			this.size = size;
+			this.dottedKeys = dottedKeys;
+		}
+		
+		public Builder() {
+			this(EMPTY_ARRAY, 0, false);
+		}
+		
+		@SuppressWarnings("unchecked")
+		public V getOrDefault(Object key, V defaultValue) {
+			Object value = FrozenMap.get(this.root, key);
+			return value != NOT_FOUND ? (V) value : defaultValue;
+		}
+		
+		public Builder<K, V> remove(Object key) {
+			if(this.owner == null) {
+				throw new IllegalStateException("The map has already been built");
+			}
+			
+			this.changed[0] = false;
+			this.root = FrozenMap.remove(this.owner, this.root, key, this.changed);
+			
+			if(this.changed[0]) {
+				this.size--;
+			}
+			
+			return this;
+		}
+		
+		public Builder<K, V> put(K key, V value) {
+			if(this.owner == null) {
+				throw new IllegalStateException("The map has already been built");
+			}
+			
+			this.changed[0] = false;
+			this.root = FrozenMap.put(this.owner, this.root, key, value, this.changed);
+			
+			if(this.changed[0]) {
+				this.size++;
+			}
+			
+			this.dottedKeys |= FrozenMap.isDotted(key, value);
+			
+			return this;
+		}
+		
+		public Builder<K, V> putAll(Map<? extends K, ? extends V> map) {
+			for(Entry<? extends K, ? extends V> entry : map.entrySet()) {
+				this.put(entry.getKey(), entry.getValue());
+			}
+			
+			return this;
+		}
+		
+		public FrozenMap<K, V> build() {
+			if(this.owner == null) {
+				throw new IllegalStateException("The map has already been built");
+			}
+			
+			/* No nodes can be modified after this, the owner is not referenced anywhere else */
+			this.owner = null;
+			
+			return new FrozenMap<>(this.root, this.size, this.dottedKeys);
+		}
+	}
+	
+	private static final FrozenMap<?, ?> EMPTY = new FrozenMap<>(EMPTY_ARRAY, 0, false);
+	
+	@SuppressWarnings("unchecked")
+	public static <K, V> FrozenMap<K, V> empty() {
+		return (FrozenMap<K, V>) FrozenMap.EMPTY;
+	}
+	
+	public static <K, V> Builder<K, V> builder() {
+		return new Builder<>();
+	}
+	
+	/**
+	 * @return a frozen copy of the map, or the map itself if it is already frozen
+	 */
+	@SuppressWarnings("unchecked")
+	public static <K, V> FrozenMap<K, V> copyOf(Map<? extends K, ? extends V> map) {
+		if(map instanceof FrozenMap) {
+			return (FrozenMap<K, V>) map;
+		}
+		
+		return new Builder<K, V>().putAll(map).build();
+	}
+	
+	/** Either the array of a small map or the root node of the trie */
+	private final Object root;
+	private final int size;
+	
+	/** Whether or not this map, or any of the maps in it, may have a key containing a "." */
+	private final boolean dottedKeys;
+	
+	/** The cached hash code, 0 if it has not been computed yet */
+	private int hash;
+	
+	private FrozenMap(Object root, int size, boolean dottedKeys) {
+		this.root = root;
+		this.size = size;
+		this.dottedKeys = dottedKeys;
+	}
+	
+	/**
+	 * @return whether or not this map, or any of the maps in it, may have a key containing a ".",
+	 * if not, expanding this map would not change anything
+	 */
+	public boolean hasDottedKeys() {
+		return this.dottedKeys;
+	}
+	
+	/**
+	 * @return a builder which starts out with the entries of this map, see {@link Builder}
+	 */
+	public Builder<K, V> toBuilder() {
+		return new Builder<>(this.root, this.size, this.dottedKeys);
+	}
+	
+	/**
+	 * @return a new map without the key, only the nodes on the path to the key
+	 * are copied, or this map if there is no value for the key
+	 */
+	public FrozenMap<K, V> without(Object key) {
+		boolean[] removed = new boolean[1];
+		
+		Object root = FrozenMap.remove(null, this.root, key, removed);
+		if(!removed[0]) {
+			return this;
+		}
+		
+		return new FrozenMap<>(root, this.size - 1, this.dottedKeys);
+	}
+	
+	/**
+	 * @return a new map with the value set for the key, only the nodes on the path to the
+	 * key are copied, or this map if the key already has the exact same value
+	 */
+	public FrozenMap<K, V> with(K key, V value) {
+		boolean[] added = new boolean[1];
+		
+		Object root = FrozenMap.put(null, this.root, key, value, added);
+		if(root == this.root) {
+			return this;
+		}
+		
+		return new FrozenMap<>(root, added[0] ? this.size + 1 : this.size, this.dottedKeys || FrozenMap.isDotted(key, value));
+	}
+	
+	@Override
+	@SuppressWarnings("unchecked")
+	public V get(Object key) {
+		Object value = FrozenMap.get(this.root, key);
+		return value != NOT_FOUND ? (V) value : null;
+	}
+	
+	@Override
+	@SuppressWarnings("unchecked")
+	public V getOrDefault(Object key, V defaultValue) {
+		Object value = FrozenMap.get(this.root, key);
+		return value != NOT_FOUND ? (V) value : defaultValue;
+	}
+	
+	@Override
+	public boolean containsKey(Object key) {
+		return FrozenMap.get(this.root, key) != NOT_FOUND;
+	}
+	
+	@Override
+	public int size() {
+		return this.size;
+	}
+	
+	@Override
+	public boolean isEmpty() {
+		return this.size == 0;
+	}
+	
+	@Override
+	@SuppressWarnings("unchecked")
+	public void forEach(BiConsumer<? super K, ? super V> action) {
+		if(this.root instanceof Object[]) {
+			Object[] array = (Object[]) this.root;
+			for(int i = 0; i < array.length; i += 2) {
+				action.accept((K) array[i], (V) array[i + 1]);
+			}
+			
+			return;
+		}
+		
+		((Node) this.root).forEach(action);
+	}
+	
+	private class EntryIterator implements Iterator<Entry<K, V>> {
+		
+		/* The trie is at most 7 bitmap nodes deep followed by a collision node */
+		private final Node[] nodes = new Node[8];
+		private final int[] entryIndices = new int[8];
+		private final int[] nodeIndices = new int[8];
+		
+		private int depth = 0;
+		
+		/* The array of a small map, which is iterated instead of the nodes */
+		private final Object[] array;
+		private int index = 0;
+		
+		public EntryIterator() {
+			if(FrozenMap.this.root instanceof Object[]) {
+				this.array = (Object[]) FrozenMap.this.root;
+				this.depth = -1;
+			}else{
+				this.array = null;
+				this.nodes[0] = (Node) FrozenMap.this.root;
+			}
+		}
+		
+		@Override
+		public boolean hasNext() {
+			if(this.array != null) {
+				return this.index < this.array.length;
+			}
+			
+			while(this.depth >= 0) {
+				Node node = this.nodes[this.depth];
+				if(this.entryIndices[this.depth] < node.entryCount()) {
+					return true;
+				}
+				
+				if(this.nodeIndices[this.depth] < node.nodeCount()) {
+					Node child = node.nodeAt(this.nodeIndices[this.depth]++);
+					
+					this.depth++;
+					this.nodes[this.depth] = child;
+					this.entryIndices[this.depth] = 0;
+					this.nodeIndices[this.depth] = 0;
+					
+					continue;
+				}
+				
+				this.nodes[this.depth--] = null;
+			}
+			
+			return false;
+		}
+		
+		@Override
+		@SuppressWarnings("unchecked")
+		public Entry<K, V> next() {
+			if(!this.hasNext()) {
+				throw new NoSuchElementException();
+			}
+			
+			if(this.array != null) {
+				int index = this.index;
+				this.index += 2;
+				
+				return new SimpleImmutableEntry<>((K) this.array[index], (V) this.array[index + 1]);
+			}
+			
+			Node node = this.nodes[this.depth];
+			int index = this.entryIndices[this.depth]++;
+			
+			return new SimpleImmutableEntry<>((K) node.keyAt(index), (V) node.valueAt(index));
+		}
+	}
+	
+	/**
+	 * The hash code is cached, the same as {@link String#hashCode()}, the values of a frozen map
+	 * are frozen as well so it can never change
+	 */
+	@Override
+	public int hashCode() {
+		int hash = this.hash;
+		if(hash == 0 && this.size > 0) {
+			int[] sum = new int[1];
+			this.forEach((key, value) -> sum[0] += Objects.hashCode(key) ^ Objects.hashCode(value));
+			
+			this.hash = hash = sum[0];
+		}
+		
+		return hash;
+	}
+	
+	@Override
+	public boolean equals(Object object) {
+		if(object == this) {
+			return true;
+		}
+		
+		/* Maps with a different hash code can never be equal */
+		if(object instanceof FrozenMap && ((FrozenMap<?, ?>) object).hashCode() != this.hashCode()) {
+			return false;
+		}
+		
+		return super.equals(object);
+	}
+	
+	@Override
+	public Set<Entry<K, V>> entrySet() {
+		return new AbstractSet<Entry<K, V>>() {
+			
+			@Override
+			public Iterator<Entry<K, V>> iterator() {
+				return new EntryIterator();
+			}
+			
+			@Override
+			public int size() {
+				return FrozenMap.this.size;
+			}
+		};
+	}
+}
\ No newline at end of file
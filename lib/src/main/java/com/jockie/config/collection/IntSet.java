@@ -0,0 +1,187 @@
+package com.jockie.config.collection;
+
+import java.util.AbstractSet;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * Immutable set of primitive ints, this is meant for large sets of ids
+ * where a {@link java.util.HashSet HashSet&#60;Integer&#62;} would use a lot
+ * of memory and box the value on every {@link #contains(Object)}.
+ * <br><br>
+ * The values are stored in an open-addressing hash table (linear probing)
+ * which is at most half full, using {@link #contains(int)} does not box the value.
+ */
+public class IntSet extends AbstractSet<Integer> {
+	
+	private static final IntSet EMPTY = new IntSet(new int[0]);
+	
+	public static IntSet empty() {
+		return IntSet.EMPTY;
+	}
+	
+	public static IntSet of(int... values) {
+		return new IntSet(values);
+	}
+	
+	private static int hash(int value) {
+		long hash = value * 0x9E3779B97F4A7C15L;
+		return (int) (hash ^ (hash >>> 32));
+	}
+	
+	private static int tableSize(int size) {
+		int tableSize = 2;
+		while(tableSize < size * 2) {
+			tableSize <<= 1;
+		}
+		
+		return tableSize;
+	}
+	
+	/* 0 is used to mark an empty slot in the table, whether 0 is in the set is stored separately */
+	private final int[] table;
+	private final boolean containsZero;
+	
+	private final int size;
+	
+	private IntSet(int[] values) {
+		int[] table = new int[IntSet.tableSize(values.length)];
+		int mask = table.length - 1;
+		
+		boolean containsZero = false;
+		int size = 0;
+		
+		for(int value : values) {
+			if(value == 0) {
+				if(!containsZero) {
+					containsZero = true;
+					size++;
+				}
+				
+				continue;
+			}
+			
+			int index = IntSet.hash(value) & mask;
+			while(table[index] != 0 && table[index] != value) {
+				index = (index + 1) & mask;
+			}
+			
+			if(table[index] == 0) {
+				table[index] = value;
+				size++;
+			}
+		}
+		
+		this.table = table;
+		this.containsZero = containsZero;
+		this.size = size;
+	}
+	
+	public boolean contains(int value) {
+		if(value == 0) {
+			return this.containsZero;
+		}
+		
+		int[] table = this.table;
+		int mask = table.length - 1;
+		
+		int index = IntSet.hash(value) & mask;
+		while(true) {
+			int current = table[index];
+			if(current == value) {
+				return true;
+			}
+			
+			if(current == 0) {
+				return false;
+			}
+			
+			index = (index + 1) & mask;
+		}
+	}
+	
+	@Override
+	public boolean contains(Object object) {
+		if(!(object instanceof Integer)) {
+			return false;
+		}
+		
+		return this.contains(((Integer) object).intValue());
+	}
+	
+	@Override
+	public int size() {
+		return this.size;
+	}
+	
+	/**
+	 * @return a new array containing all of the values, in no particular order
+	 */
+	public int[] toIntArray() {
+		int[] array = new int[this.size];
+		
+		int index = 0;
+		if(this.containsZero) {
+			array[index++] = 0;
+		}
+		
+		for(int value : this.table) {
+			if(value != 0) {
+				array[index++] = value;
+			}
+		}
+		
+		return array;
+	}
+	
+	@Override
+	public PrimitiveIterator.OfInt iterator() {
+		return new PrimitiveIterator.OfInt() {
+			
+			private boolean zero = IntSet.this.containsZero;
+			private int index = 0;
+			
+			private void skipEmpty() {
+				int[] table = IntSet.this.table;
+				while(this.index < table.length && table[this.index] == 0) {
+					this.index++;
+				}
+			}
+			
+			@Override
+			public boolean hasNext() {
+				if(this.zero) {
+					return true;
+				}
+				
+				this.skipEmpty();
+				return this.index < IntSet.this.table.length;
+			}
+			
+			@Override
+			public int nextInt() {
+				if(!this.hasNext()) {
+					throw new NoSuchElementException();
+				}
+				
+				if(this.zero) {
+					this.zero = false;
+					return 0;
+				}
+				
+				return IntSet.this.table[this.index++];
+			}
+		};
+	}
+	
+	@Override
+	public int hashCode() {
+		/* Same as the Set contract, the sum of Integer#hashCode, but without boxing */
+		int hash = 0;
+		for(int value : this.table) {
+			hash += Integer.hashCode(value);
+		}
+		
+		return hash;
+	}
+}
\ No newline at end of file
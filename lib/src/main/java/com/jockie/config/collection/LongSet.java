@@ -0,0 +1,187 @@
+package com.jockie.config.collection;
+
+import java.util.AbstractSet;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * Immutable set of primitive longs, this is meant for large sets of ids
+ * where a {@link java.util.HashSet HashSet&#60;Long&#62;} would use a lot
+ * of memory and box the value on every {@link #contains(Object)}.
+ * <br><br>
+ * The values are stored in an open-addressing hash table (linear probing)
+ * which is at most half full, using {@link #contains(long)} does not box the value.
+ */
+public class LongSet extends AbstractSet<Long> {
+	
+	private static final LongSet EMPTY = new LongSet(new long[0]);
+	
+	public static LongSet empty() {
+		return LongSet.EMPTY;
+	}
+	
+	public static LongSet of(long... values) {
+		return new LongSet(values);
+	}
+	
+	private static int hash(long value) {
+		long hash = value * 0x9E3779B97F4A7C15L;
+		return (int) (hash ^ (hash >>> 32));
+	}
+	
+	private static int tableSize(int size) {
+		int tableSize = 2;
+		while(tableSize < size * 2) {
+			tableSize <<= 1;
+		}
+		
+		return tableSize;
+	}
+	
+	/* 0 is used to mark an empty slot in the table, whether 0 is in the set is stored separately */
+	private final long[] table;
+	private final boolean containsZero;
+	
+	private final int size;
+	
+	private LongSet(long[] values) {
+		long[] table = new long[LongSet.tableSize(values.length)];
+		int mask = table.length - 1;
+		
+		boolean containsZero = false;
+		int size = 0;
+		
+		for(long value : values) {
+			if(value == 0) {
+				if(!containsZero) {
+					containsZero = true;
+					size++;
+				}
+				
+				continue;
+			}
+			
+			int index = LongSet.hash(value) & mask;
+			while(table[index] != 0 && table[index] != value) {
+				index = (index + 1) & mask;
+			}
+			
+			if(table[index] == 0) {
+				table[index] = value;
+				size++;
+			}
+		}
+		
+		this.table = table;
+		this.containsZero = containsZero;
+		this.size = size;
+	}
+	
+	public boolean contains(long value) {
+		if(value == 0) {
+			return this.containsZero;
+		}
+		
+		long[] table = this.table;
+		int mask = table.length - 1;
+		
+		int index = LongSet.hash(value) & mask;
+		while(true) {
+			long current = table[index];
+			if(current == value) {
+				return true;
+			}
+			
+			if(current == 0) {
+				return false;
+			}
+			
+			index = (index + 1) & mask;
+		}
+	}
+	
+	@Override
+	public boolean contains(Object object) {
+		if(!(object instanceof Long)) {
+			return false;
+		}
+		
+		return this.contains(((Long) object).longValue());
+	}
+	
+	@Override
+	public int size() {
+		return this.size;
+	}
+	
+	/**
+	 * @return a new array containing all of the values, in no particular order
+	 */
+	public long[] toLongArray() {
+		long[] array = new long[this.size];
+		
+		int index = 0;
+		if(this.containsZero) {
+			array[index++] = 0;
+		}
+		
+		for(long value : this.table) {
+			if(value != 0) {
+				array[index++] = value;
+			}
+		}
+		
+		return array;
+	}
+	
+	@Override
+	public PrimitiveIterator.OfLong iterator() {
+		return new PrimitiveIterator.OfLong() {
+			
+			private boolean zero = LongSet.this.containsZero;
+			private int index = 0;
+			
+			private void skipEmpty() {
+				long[] table = LongSet.this.table;
+				while(this.index < table.length && table[this.index] == 0) {
+					this.index++;
+				}
+			}
+			
+			@Override
+			public boolean hasNext() {
+				if(this.zero) {
+					return true;
+				}
+				
+				this.skipEmpty();
+				return this.index < LongSet.this.table.length;
+			}
+			
+			@Override
+			public long nextLong() {
+				if(!this.hasNext()) {
+					throw new NoSuchElementException();
+				}
+				
+				if(this.zero) {
+					this.zero = false;
+					return 0;
+				}
+				
+				return LongSet.this.table[this.index++];
+			}
+		};
+	}
+	
+	@Override
+	public int hashCode() {
+		/* Same as the Set contract, the sum of Long#hashCode, but without boxing */
+		int hash = 0;
+		for(long value : this.table) {
+			hash += Long.hashCode(value);
+		}
+		
+		return hash;
+	}
+}
\ No newline at end of file
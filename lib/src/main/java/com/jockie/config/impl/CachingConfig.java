@@ -0,0 +1,225 @@
+package com.jockie.config.impl;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.jockie.config.ConfigKey;
+import com.jockie.config.IConfig;
+import com.jockie.config.IConfigValue;
+import com.jockie.config.utility.MapUtility;
+
+/**
+ * Memoizes the converted values of {@link #get(String, Class, Object)} per key and type,
+ * this means a value such as "25" read as an int is only parsed once and
+ * {@link #getConfig(String)} returns the same config every time. {@link #find(String)},
+ * {@link #getAll(Collection)} and the {@link ConfigKey} getters go through the cache as well.
+ * <br><br>
+ * This is useful for code which reads the config directly at runtime rather than
+ * through a bound config, which already stores all of its values converted.
+ * <br><br>
+ * The cache is bounded and split into multiple independently locked stripes,
+ * each stripe evicts its least recently used value once it is full.
+ */
+public class CachingConfig extends DelegateConfig {
+	
+	public static final int DEFAULT_MAXIMUM_SIZE = 1024;
+	
+	private static final int STRIPES = 16;
+	
+	/** Cached when there is no value for the key, the default value is returned in that case */
+	private static final Object ABSENT = new Object();
+	
+	private static class CacheKey {
+		
+		private final String key;
+		private final Class<?> type;
+		
+		private final int hash;
+		
+		public CacheKey(String key, Class<?> type) {
+			this.key = key;
+			this.type = type;
+			
+			this.hash = 31 * key.hashCode() + Objects.hashCode(type);
+		}
+		
+		@Override
+		public boolean equals(Object object) {
+			if(this == object) {
+				return true;
+			}
+			
+			if(!(object instanceof CacheKey)) {
+				return false;
+			}
+			
+			CacheKey other = (CacheKey) object;
+			return this.type == other.type && this.key.equals(other.key);
+		}
+		
+		@Override
+		public int hashCode() {
+			return this.hash;
+		}
+	}
+	
+	private static class Stripe extends LinkedHashMap<CacheKey, Object> {
+		
+		private static final long serialVersionUID = 1L;
+		
+		private final int maximumSize;
+		
+		public Stripe(int maximumSize) {
+			super(16, 0.75F, true);
+			
+			this.maximumSize = maximumSize;
+		}
+		
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<CacheKey, Object> eldest) {
+			return this.size() > this.maximumSize;
+		}
+	}
+	
+	private final Stripe[] stripes;
+	
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	
+	public CachingConfig(IConfig config, int maximumSize) {
+		super(config);
+		
+		if(maximumSize < 1) {
+			throw new IllegalArgumentException("The maximum size must be at least 1");
+		}
+		
+		int stripeSize = Math.max(1, (maximumSize + STRIPES - 1) / STRIPES);
+		
+		this.stripes = new Stripe[STRIPES];
+		for(int i = 0; i < STRIPES; i++) {
+			this.stripes[i] = new Stripe(stripeSize);
+		}
+	}
+	
+	public CachingConfig(IConfig config) {
+		this(config, DEFAULT_MAXIMUM_SIZE);
+	}
+	
+	private Stripe getStripe(CacheKey key) {
+		int hash = key.hashCode();
+		return this.stripes[(hash ^ (hash >>> 16)) & (STRIPES - 1)];
+	}
+	
+	/**
+	 * @return the cached value, converted to the type, or {@link #ABSENT} if there is no value
+	 */
+	private Object lookup(String key, Class<?> type) {
+		CacheKey cacheKey = new CacheKey(key, type);
+		Stripe stripe = this.getStripe(cacheKey);
+		
+		Object value;
+		synchronized(stripe) {
+			value = stripe.get(cacheKey);
+		}
+		
+		if(value != null) {
+			this.hits.increment();
+			
+			return value;
+		}
+		
+		this.misses.increment();
+		
+		/* Converted outside of the lock, in the worst case the value is converted more than once */
+		IConfigValue configValue = this.delegate.find(key);
+		if(!configValue.isPresent()) {
+			value = ABSENT;
+		}else{
+			value = configValue.get(type, null);
+		}
+		
+		/* null is not cached, it would not be possible to tell it apart from a missing entry */
+		if(value != null) {
+			synchronized(stripe) {
+				stripe.put(cacheKey, value);
+			}
+		}
+		
+		return value;
+	}
+	
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> T get(String key, Class<T> type, T defaultValue) {
+		Object value = this.lookup(key, type);
+		return value != ABSENT ? (T) value : defaultValue;
+	}
+	
+	@Override
+	public <T> T get(ConfigKey<T> key, T defaultValue) {
+		return this.get(key.getKey(), key.getType(), defaultValue);
+	}
+	
+	/**
+	 * The raw value is cached the same way as {@link #get(String)}, without a type
+	 */
+	@Override
+	public Object getRaw(String key) {
+		Object value = this.lookup(key, null);
+		return value != ABSENT ? value : MapUtility.MISSING;
+	}
+	
+	@Override
+	public Object getRaw(ConfigKey<?> key) {
+		return this.getRaw(key.getKey());
+	}
+	
+	/**
+	 * @return the value, which is converted through the cache
+	 */
+	@Override
+	public IConfigValue find(String key) {
+		return new ConfigValue(this, key, this.getRaw(key));
+	}
+	
+	@Override
+	public Map<String, IConfigValue> getAll(Collection<String> keys) {
+		Map<String, IConfigValue> values = new HashMap<>();
+		for(String key : keys) {
+			values.put(key, this.find(key));
+		}
+		
+		return values;
+	}
+	
+	public long getHitCount() {
+		return this.hits.sum();
+	}
+	
+	public long getMissCount() {
+		return this.misses.sum();
+	}
+	
+	/**
+	 * @return the number of values currently cached
+	 */
+	public int size() {
+		int size = 0;
+		for(Stripe stripe : this.stripes) {
+			synchronized(stripe) {
+				size += stripe.size();
+			}
+		}
+		
+		return size;
+	}
+	
+	@Override
+	public String toString() {
+		return this.delegate.toString();
+	}
+}
\ No newline at end of file
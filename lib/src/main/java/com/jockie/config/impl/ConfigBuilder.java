@@ -0,0 +1,187 @@
+package com.jockie.config.impl;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import com.jockie.config.IConfig;
+import com.jockie.config.collection.FrozenMap;
+import com.jockie.config.utility.MapUtility;
+
+/**
+ * Builds a config in code, <code>new ConfigBuilder().set("x.y", 1).freeze()</code>, without having to create nested maps.
+ * <br><br>
+ * The builder edits the frozen maps of the config directly, only the maps on the paths which are changed are copied,
+ * and only the first time they are changed, a builder created from an existing config shares everything else with it.
+ * {@link #freeze()} hands the maps over to the config as they are, nothing is copied.
+ */
+public class ConfigBuilder {
+	
+	/**
+	 * A map which is being changed by the builder
+	 */
+	private static class Node {
+		
+		private final FrozenMap.Builder<String, Object> builder;
+		
+		/* The maps in this map which are being changed, the values in the builder are not updated until it is built */
+		private final Map<String, Node> children = new HashMap<>();
+		
+		public Node(FrozenMap.Builder<String, Object> builder) {
+			this.builder = builder;
+		}
+		
+		/**
+		 * @param create whether or not to replace the value with a new map if the value is not a map
+		 * 
+		 * @return the map at the key, null if the value is not a map and create is false
+		 */
+		@SuppressWarnings("unchecked")
+		public Node getChild(String key, boolean create) {
+			Node child = this.children.get(key);
+			if(child != null) {
+				return child;
+			}
+			
+			Object value = this.builder.getOrDefault(key, null);
+			if(value instanceof FrozenMap) {
+				child = new Node(((FrozenMap<String, Object>) value).toBuilder());
+			}else if(create) {
+				child = new Node(FrozenMap.builder());
+			}else{
+				return null;
+			}
+			
+			this.children.put(key, child);
+			
+			return child;
+		}
+		
+		public boolean isMap(String key) {
+			return this.children.containsKey(key) || this.builder.getOrDefault(key, null) instanceof Map;
+		}
+		
+		public boolean has(String key) {
+			return this.children.containsKey(key) || this.builder.getOrDefault(key, MapUtility.MISSING) != MapUtility.MISSING;
+		}
+		
+		public void put(String key, Object value) {
+			this.children.remove(key);
+			this.builder.put(key, value);
+		}
+		
+		public void remove(String key) {
+			this.children.remove(key);
+			this.builder.remove(key);
+		}
+		
+		public FrozenMap<String, Object> build() {
+			for(Entry<String, Node> entry : this.children.entrySet()) {
+				this.builder.put(entry.getKey(), entry.getValue().build());
+			}
+			
+			return this.builder.build();
+		}
+	}
+	
+	private Node root;
+	
+	public ConfigBuilder() {
+		this.root = new Node(FrozenMap.builder());
+	}
+	
+	/**
+	 * @param config the config to start from, the config is not changed by the builder
+	 */
+	public ConfigBuilder(IConfig config) {
+		/* This does not copy the map of a MapConfig */
+		this.root = new Node(FrozenMap.copyOf(MapUtility.freeze(config)).toBuilder());
+	}
+	
+	/**
+	 * @return the map which contains the last part of the path, null if there is no map and create is false
+	 */
+	private Node getParent(String[] path, boolean create) {
+		Node node = this.root;
+		for(int i = 0; i < path.length - 1 && node != null; i++) {
+			node = node.getChild(path[i], create);
+		}
+		
+		return node;
+	}
+	
+	/**
+	 * Sets the value at the path, any value on the path which is not a map is replaced with a map
+	 * 
+	 * @param path the path of the value, "x.y.z"
+	 */
+	public ConfigBuilder set(String path, Object value) {
+		String[] parts = MapUtility.splitPath(path);
+		this.getParent(parts, true).put(parts[parts.length - 1], MapUtility.freezeValue(value, true));
+		
+		return this;
+	}
+	
+	/**
+	 * Removes the value at the path, if there is any
+	 * 
+	 * @param path the path of the value, "x.y.z"
+	 */
+	public ConfigBuilder remove(String path) {
+		String[] parts = MapUtility.splitPath(path);
+		
+		Node parent = this.getParent(parts, false);
+		if(parent != null) {
+			parent.remove(parts[parts.length - 1]);
+		}
+		
+		return this;
+	}
+	
+	/**
+	 * Merges the config into this builder, this follows the same rules as {@link IConfig#merge(IConfig...)}
+	 */
+	public ConfigBuilder mergeFrom(IConfig config) {
+		ConfigBuilder.merge(this.root, MapUtility.freeze(config));
+		
+		return this;
+	}
+	
+	@SuppressWarnings("unchecked")
+	private static void merge(Node node, Map<String, ?> map) {
+		for(Entry<String, ?> entry : map.entrySet()) {
+			String key = entry.getKey();
+			Object value = entry.getValue();
+			
+			if(!node.has(key)) {
+				node.put(key, value);
+				
+				continue;
+			}
+			
+			boolean isMap = node.isMap(key);
+			if(isMap && value instanceof Map) {
+				ConfigBuilder.merge(node.getChild(key, false), (Map<String, ?>) value);
+				
+				continue;
+			}
+			
+			/* Prefer the one with the map */
+			if(!isMap) {
+				node.put(key, value);
+			}
+		}
+	}
+	
+	/**
+	 * Creates a config from the current state of the builder, the builder can still be used
+	 * afterwards, any further changes are copied on write and do not affect the config
+	 */
+	public MapConfig freeze() {
+		FrozenMap<String, Object> map = this.root.build();
+		this.root = new Node(map.toBuilder());
+		
+		/* Already expanded and frozen */
+		return new MapConfig(map, false);
+	}
+}
\ No newline at end of file
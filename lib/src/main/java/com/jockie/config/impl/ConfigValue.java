@@ -0,0 +1,73 @@
+package com.jockie.config.impl;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import com.jockie.config.IConfig;
+import com.jockie.config.IConfigValue;
+import com.jockie.config.utility.MapUtility;
+
+/**
+ * Generic {@link IConfigValue} implementation which converts the value
+ * through the config it was looked up from, this works for any {@link IConfig}
+ * but it will look up the key again when converting.
+ */
+public class ConfigValue implements IConfigValue {
+	
+	protected final IConfig config;
+	protected final String key;
+	protected final Object raw;
+	
+	public ConfigValue(IConfig config, String key, Object raw) {
+		this.config = Objects.requireNonNull(config);
+		this.key = Objects.requireNonNull(key);
+		this.raw = raw;
+	}
+	
+	public IConfig getConfig() {
+		return this.config;
+	}
+	
+	@Override
+	public String getKey() {
+		return this.key;
+	}
+	
+	@Override
+	public Object getRaw() {
+		return this.raw;
+	}
+	
+	@Override
+	public <T> T get(Class<T> type, T defaultValue) {
+		if(this.raw == MapUtility.MISSING) {
+			return defaultValue;
+		}
+		
+		return this.config.get(this.key, type, defaultValue);
+	}
+	
+	@Override
+	public <T> List<T> getList(Class<T> elementType, List<T> defaultValue) {
+		if(this.raw == MapUtility.MISSING) {
+			return defaultValue;
+		}
+		
+		return this.config.getList(this.key, elementType, defaultValue);
+	}
+	
+	@Override
+	public <K, V> Map<K, V> getMap(Class<K> keyType, Class<V> valueType, Map<K, V> defaultValue) {
+		if(this.raw == MapUtility.MISSING) {
+			return defaultValue;
+		}
+		
+		return this.config.getMap(this.key, keyType, valueType, defaultValue);
+	}
+	
+	@Override
+	public String toString() {
+		return this.key + "=" + (this.raw != MapUtility.MISSING ? this.raw : "<missing>");
+	}
+}
\ No newline at end of file
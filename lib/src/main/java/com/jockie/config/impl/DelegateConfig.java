@@ -5,7 +5,15 @@ import java.util.Map;
 import java.util.Set;
 
 import com.jockie.config.IConfig;
+import com.jockie.config.IConfigVisitor;
+import com.jockie.config.utility.ConfigCompactor;
 
+/**
+ * Forwards the config to another config, only the abstract getters are forwarded, everything else,
+ * such as {@link #find(String)} and {@link #getAll(java.util.Collection)}, goes through them so that
+ * subclasses only have to override {@link #get(String, Class, Object)}, {@link #has(String)},
+ * {@link #getList(String, Class, List)} and {@link #getMap(String, Class, Class, Map)}.
+ */
 public class DelegateConfig implements IConfig {
 	
 	protected final IConfig delegate;
@@ -28,6 +36,16 @@ public class DelegateConfig implements IConfig {
 		return this.delegate.resolve(config);
 	}
 	
+	@Override
+	public IConfig resolveLazily(IConfig config) {
+		return this.delegate.resolveLazily(config);
+	}
+	
+	@Override
+	public IConfig compact(ConfigCompactor compactor) {
+		return this.delegate.compact(compactor);
+	}
+	
 	@Override
 	public Map<String, Object> asMap() {
 		return this.delegate.asMap();
@@ -38,6 +56,11 @@ public class DelegateConfig implements IConfig {
 		return this.delegate.keys();
 	}
 	
+	@Override
+	public void accept(IConfigVisitor visitor) {
+		this.delegate.accept(visitor);
+	}
+	
 	@Override
 	public boolean has(String key) {
 		return this.delegate.has(key);
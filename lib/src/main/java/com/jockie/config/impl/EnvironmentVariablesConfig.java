@@ -1,28 +1,327 @@
 package com.jockie.config.impl;
 
-public class EnvironmentVariablesConfig extends MapConfig {
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.jockie.config.ConfigKey;
+import com.jockie.config.IConfig;
+import com.jockie.config.IConfigValue;
+import com.jockie.config.utility.DataTypeUtility;
+import com.jockie.config.utility.MapUtility;
 
-	public static final EnvironmentVariablesConfig INSTANCE = new EnvironmentVariablesConfig();
-	
-	private EnvironmentVariablesConfig() {
-		super(System.getenv());
-	}
-	
-//	/* TODO: lower-case keys? */
-//	private static Map<String, Object> create(String splitBy) {
-//		Map<String, Object> config = new HashMap<>(System.getenv());
-//		if(splitBy == null || splitBy.isEmpty()) {
-//			return config;
-//		}
-//		
-//		return MapUtility.expand(config, splitBy);
-//	}
-//	
-//	public EnvironmentVariablesConfig() {
-//		this(null);
-//	}
-//	
-//	public EnvironmentVariablesConfig(String splitBy) {
-//		super(EnvironmentVariablesConfig.create(splitBy));
-//	}
+/**
+ * Config of the environment variables, the variables can be looked up by their exact name, "MONGODB_HOSTS_0_IP",
+ * or as a path, the names are case-insensitive and "_" separates the parts of the path, "mongodb.hosts[0].ip",
+ * "mongodb.hosts.0.ip" and <code>getConfig("mongodb")</code> all work. Numbered parts, "0", "1" and so on, are lists
+ * if they start at 0 and have no gaps, otherwise they are maps.
+ * <br><br>
+ * The config itself holds the variables by their exact names, {@link #keys()}, {@link #asMap()} and merging
+ * work with the exact names. Creating the config only copies the variables, they are not frozen or expanded,
+ * the names are only indexed when a path is first looked up which is not an exact name, and the variables are
+ * only expanded in to a tree for the first part of those paths, "mongodb" in the example above, all of the other
+ * variables are left alone.
+ */
+public class EnvironmentVariablesConfig extends MapConfig {
+	
+	public static final EnvironmentVariablesConfig INSTANCE = new EnvironmentVariablesConfig(System.getenv());
+	
+	/**
+	 * The normalized names, "mongodb.hosts.0.ip", sorted, and their values
+	 */
+	private static class Index {
+		
+		private final String[] names;
+		private final String[] values;
+		
+		/** The first part of every name, in the order of the names */
+		private final Set<String> roots;
+		
+		public Index(Map<String, String> variables) {
+			List<Entry<String, String>> entries = new ArrayList<>(variables.size());
+			for(Entry<String, String> entry : variables.entrySet()) {
+				String name = EnvironmentVariablesConfig.normalize(entry.getKey());
+				if(!name.isEmpty()) {
+					entries.add(new SimpleImmutableEntry<>(name, entry.getValue()));
+				}
+			}
+			
+			entries.sort(Comparator.comparing(Entry::getKey));
+			
+			this.names = new String[entries.size()];
+			this.values = new String[entries.size()];
+			
+			Set<String> roots = new LinkedHashSet<>();
+			for(int i = 0; i < this.names.length; i++) {
+				this.names[i] = entries.get(i).getKey();
+				this.values[i] = entries.get(i).getValue();
+				
+				roots.add(EnvironmentVariablesConfig.getRoot(this.names[i]));
+			}
+			
+			this.roots = Collections.unmodifiableSet(roots);
+		}
+		
+		/**
+		 * @return the variables which start with the root as a tree, null if there are none
+		 */
+		public Map<String, Object> expand(String root) {
+			int index = Arrays.binarySearch(this.names, root);
+			if(index < 0) {
+				index = -index - 1;
+			}
+			
+			Map<String, Object> tree = null;
+			for(; index < this.names.length && this.names[index].startsWith(root); index++) {
+				String name = this.names[index];
+				if(name.length() != root.length() && name.charAt(root.length()) != '.') {
+					/* "mongodbx" is not a part of "mongodb" */
+					continue;
+				}
+				
+				if(tree == null) {
+					tree = new HashMap<>();
+				}
+				
+				EnvironmentVariablesConfig.put(tree, name.split("\\."), this.values[index]);
+			}
+			
+			return tree;
+		}
+	}
+	
+	/**
+	 * @return the name in lower case with all "_" replaced by ".", without any empty parts
+	 */
+	private static String normalize(String name) {
+		StringBuilder builder = new StringBuilder(name.length());
+		for(int i = 0; i < name.length(); i++) {
+			char character = name.charAt(i);
+			if(character == '_' || character == '.') {
+				/* Skip empty parts, "A__B" is the same as "A_B" */
+				if(builder.length() > 0 && builder.charAt(builder.length() - 1) != '.') {
+					builder.append('.');
+				}
+			}else{
+				builder.append(Character.toLowerCase(character));
+			}
+		}
+		
+		if(builder.length() > 0 && builder.charAt(builder.length() - 1) == '.') {
+			builder.setLength(builder.length() - 1);
+		}
+		
+		return builder.toString();
+	}
+	
+	/**
+	 * @return the first part of the path, "mongodb" for both "mongodb.hosts" and "mongodb[0]"
+	 */
+	private static String getRoot(String path) {
+		for(int i = 0; i < path.length(); i++) {
+			char character = path.charAt(i);
+			if(character == '.' || character == '[') {
+				return path.substring(0, i);
+			}
+		}
+		
+		return path;
+	}
+	
+	@SuppressWarnings("unchecked")
+	private static void put(Map<String, Object> tree, String[] parts, String value) {
+		Map<String, Object> map = tree;
+		for(int i = 0; i < parts.length - 1; i++) {
+			Object current = map.get(parts[i]);
+			if(!(current instanceof Map)) {
+				/* A map always wins over a value, "A=1" and "A_B=2" becomes "{a: {b: 2}}" */
+				map.put(parts[i], current = new HashMap<>());
+			}
+			
+			map = (Map<String, Object>) current;
+		}
+		
+		map.putIfAbsent(parts[parts.length - 1], value);
+	}
+	
+	/**
+	 * Converts the numbered maps, "{0: x, 1: y}", to lists
+	 */
+	@SuppressWarnings("unchecked")
+	private static Object toLists(Object value) {
+		if(!(value instanceof Map)) {
+			return value;
+		}
+		
+		Map<String, Object> map = (Map<String, Object>) value;
+		for(Entry<String, Object> entry : map.entrySet()) {
+			entry.setValue(EnvironmentVariablesConfig.toLists(entry.getValue()));
+		}
+		
+		Object[] elements = new Object[map.size()];
+		for(Entry<String, Object> entry : map.entrySet()) {
+			int index = EnvironmentVariablesConfig.parseIndex(entry.getKey());
+			if(index < 0 || index >= elements.length) {
+				return map;
+			}
+			
+			elements[index] = entry.getValue();
+		}
+		
+		return Arrays.asList(elements);
+	}
+	
+	/**
+	 * @return the index or -1 if the part is not a number, numbers with a leading zero, "00" or "01", are not indices
+	 */
+	private static int parseIndex(String part) {
+		if(part.isEmpty() || part.length() > 9 || (part.length() > 1 && part.charAt(0) == '0')) {
+			return -1;
+		}
+		
+		for(int i = 0; i < part.length(); i++) {
+			char character = part.charAt(i);
+			if(character < '0' || character > '9') {
+				return -1;
+			}
+		}
+		
+		return Integer.parseInt(part);
+	}
+	
+	/**
+	 * @return the path with the numbered parts as indices, "mongodb.hosts.0.ip" becomes "mongodb.hosts[0].ip",
+	 * null if the path does not have any numbered parts
+	 */
+	private static String toIndexPath(String path) {
+		String[] parts = path.split("\\.");
+		
+		StringBuilder builder = new StringBuilder(parts[0]);
+		boolean changed = false;
+		
+		for(int i = 1; i < parts.length; i++) {
+			if(EnvironmentVariablesConfig.parseIndex(parts[i]) != -1) {
+				builder.append('[').append(parts[i]).append(']');
+				changed = true;
+			}else{
+				builder.append('.').append(parts[i]);
+			}
+		}
+		
+		return changed ? builder.toString() : null;
+	}
+	
+	private final Map<String, String> variables;
+	
+	private volatile Index index;
+	
+	/** The expanded configs by the root, see {@link Index#expand(String)}, only roots which have variables are added */
+	private final Map<String, IConfig> configs = new ConcurrentHashMap<>();
+	
+	/**
+	 * @param variables the environment variables
+	 */
+	public EnvironmentVariablesConfig(Map<String, String> variables) {
+		/* The values are all strings, a read-only copy is enough, there is nothing to freeze */
+		super(Collections.unmodifiableMap(new HashMap<>(variables)), false);
+		
+		this.variables = DataTypeUtility.cast(this.map);
+	}
+	
+	private Index getIndex() {
+		Index index = this.index;
+		if(index == null) {
+			this.index = index = new Index(this.variables);
+		}
+		
+		return index;
+	}
+	
+	/**
+	 * @param path the normalized path, see {@link #normalize(String)}
+	 * 
+	 * @return the expanded config of the root of the path, null if no variable has that root
+	 */
+	private IConfig route(String path) {
+		String root = EnvironmentVariablesConfig.getRoot(path);
+		
+		Index index = this.getIndex();
+		if(!index.roots.contains(root)) {
+			return null;
+		}
+		
+		return this.configs.computeIfAbsent(root, (key) -> {
+			Map<String, Object> tree = index.expand(key);
+			if(tree == null) {
+				/* Only variables such as "A[0]", which are not a part of any path */
+				return null;
+			}
+			
+			tree.replaceAll((name, value) -> EnvironmentVariablesConfig.toLists(value));
+			
+			/* Already expanded */
+			return new MapConfig(tree, true, false, false);
+		});
+	}
+	
+	/**
+	 * Looks the key up by its exact name first, "JAVA_HOME", and as a normalized path, "java.home", if there is no such name
+	 */
+	@Override
+	public Object getRaw(String key) {
+		Object value = super.getRaw(key);
+		if(value != MapUtility.MISSING) {
+			return value;
+		}
+		
+		String path = EnvironmentVariablesConfig.normalize(key);
+		
+		IConfig config = this.route(path);
+		if(config == null) {
+			return MapUtility.MISSING;
+		}
+		
+		value = config.getRaw(path);
+		if(value == MapUtility.MISSING) {
+			String indexPath = EnvironmentVariablesConfig.toIndexPath(path);
+			if(indexPath != null) {
+				return config.getRaw(indexPath);
+			}
+		}
+		
+		return value;
+	}
+	
+	@Override
+	public Object getRaw(ConfigKey<?> key) {
+		Object value = super.getRaw(key);
+		if(value != MapUtility.MISSING) {
+			return value;
+		}
+		
+		return this.getRaw(key.getKey());
+	}
+	
+	/**
+	 * The keys are looked up one by one, the single walk of {@link MapConfig#getAll(Collection)} only knows about the exact names
+	 */
+	@Override
+	public Map<String, IConfigValue> getAll(Collection<String> keys) {
+		Map<String, IConfigValue> values = new HashMap<>();
+		for(String key : keys) {
+			values.put(key, this.find(key));
+		}
+		
+		return values;
+	}
 }
\ No newline at end of file
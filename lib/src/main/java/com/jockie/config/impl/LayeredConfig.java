@@ -0,0 +1,282 @@
+package com.jockie.config.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.jockie.config.IConfig;
+import com.jockie.config.IConfigValue;
+import com.jockie.config.collection.FrozenMap;
+import com.jockie.config.utility.DataTypeUtility;
+import com.jockie.config.utility.MapUtility;
+
+/**
+ * A lazy view of multiple merged configs, this is the same as {@link IConfig#merge(IConfig...)}
+ * but the merged config is never created, each lookup probes the layers instead.
+ * <br><br>
+ * The layers follow the same rules as {@link MapUtility#deepMerge(Map, Map, boolean)}, a later
+ * layer overwrites the values of the earlier layers, except for maps, which are merged, and which
+ * always win over any other type of value, no matter which layer they are in.
+ * Lists are never merged, the list of the layer with the highest precedence is used as it is.
+ * <br><br>
+ * This is meant for configs which are only read a few times, such as when they are bound,
+ * use {@link #flatten()} to create the merged config if it is read frequently.
+ */
+public class LayeredConfig implements IConfig {
+	
+	/**
+	 * A value where more than one layer has a map
+	 */
+	private static class Merged implements IConfigValue {
+		
+		private final String key;
+		
+		/** The layer with the highest precedence which has a map */
+		private final IConfig layer;
+		
+		/** The maps of all the layers which have a map, merged */
+		private final LayeredConfig config;
+		
+		public Merged(String key, IConfig layer, LayeredConfig config) {
+			this.key = key;
+			this.layer = layer;
+			this.config = config;
+		}
+		
+		@Override
+		public String getKey() {
+			return this.key;
+		}
+		
+		/**
+		 * @return the merged map, this is computed once
+		 */
+		@Override
+		public Object getRaw() {
+			return this.config.asMap();
+		}
+		
+		@Override
+		@SuppressWarnings("unchecked")
+		public <T> T get(Class<T> type, T defaultValue) {
+			if(type == IConfig.class) {
+				return (T) this.config;
+			}
+			
+			/* No type, get(String), returns the raw value */
+			if(type == null || type.isAssignableFrom(Map.class)) {
+				return (T) this.config.asMap();
+			}
+			
+			/* Any other conversion of the map is handled by the layer */
+			return this.layer.get(this.key, type, defaultValue);
+		}
+		
+		/**
+		 * A map can not be converted to a list, this is handled by the layer
+		 */
+		@Override
+		public <T> List<T> getList(Class<T> elementType, List<T> defaultValue) {
+			return this.layer.getList(this.key, elementType, defaultValue);
+		}
+		
+		@Override
+		@SuppressWarnings("unchecked")
+		public <K, V> Map<K, V> getMap(Class<K> keyType, Class<V> valueType, Map<K, V> defaultValue) {
+			/* The entries of the merged map are converted one by one */
+			Map<K, V> result = DataTypeUtility.createMap(keyType, 16);
+			for(String childKey : this.config.keys()) {
+				K newKey = (K) DataTypeUtility.convert(childKey, keyType);
+				V newValue = this.config.get(childKey, valueType);
+				
+				result.put(newKey, newValue);
+			}
+			
+			return Collections.unmodifiableMap(result);
+		}
+	}
+	
+	/** The layers, from lowest to highest precedence */
+	private final IConfig[] layers;
+	
+	/** The values where more than one layer has a map */
+	private final Map<String, Merged> merged = new ConcurrentHashMap<>();
+	
+	private volatile Set<String> keys;
+	private volatile Map<String, Object> map;
+	
+	/**
+	 * @param layers the configs to merge, a value specified in the first config
+	 * will be overwritten by the second config if present
+	 */
+	public LayeredConfig(IConfig... layers) {
+		this.layers = layers.clone();
+		
+		for(IConfig layer : this.layers) {
+			Objects.requireNonNull(layer);
+		}
+	}
+	
+	public LayeredConfig(List<? extends IConfig> layers) {
+		this(layers.toArray(new IConfig[0]));
+	}
+	
+	/**
+	 * @return the layers, from lowest to highest precedence
+	 */
+	public List<IConfig> getLayers() {
+		return Collections.unmodifiableList(Arrays.asList(this.layers));
+	}
+	
+	/**
+	 * Probes the layers from highest to lowest precedence, each layer is only looked up once, the first
+	 * layer with a value is used, unless any of the layers has a map, in which case the maps are used.
+	 * 
+	 * @return the value of the layer to use, a {@link Merged} if more than one layer has a map, this is never null,
+	 * if no layer has a value it will not be {@link IConfigValue#isPresent() present}
+	 */
+	@Override
+	public IConfigValue find(String key) {
+		IConfigValue result = null;
+		
+		/* The layers with a map, from highest to lowest precedence */
+		List<IConfig> maps = null;
+		IConfigValue map = null;
+		for(int i = this.layers.length - 1; i >= 0; i--) {
+			IConfigValue value = this.layers[i].find(key);
+			
+			Object raw = value.getRaw();
+			if(raw == MapUtility.MISSING) {
+				continue;
+			}
+			
+			if(raw instanceof Map) {
+				if(maps == null) {
+					maps = new ArrayList<>(2);
+					map = value;
+				}
+				
+				maps.add(this.layers[i]);
+			}else if(result == null) {
+				result = value;
+			}
+		}
+		
+		if(maps == null) {
+			return result != null ? result : new ConfigValue(this, key, MapUtility.MISSING);
+		}
+		
+		if(maps.size() == 1) {
+			return map;
+		}
+		
+		List<IConfig> layers = maps;
+		return this.merged.computeIfAbsent(key, (k) -> {
+			IConfig[] children = new IConfig[layers.size()];
+			for(int i = 0; i < children.length; i++) {
+				children[i] = layers.get(children.length - i - 1).getConfig(key);
+			}
+			
+			return new Merged(key, layers.get(0), new LayeredConfig(children));
+		});
+	}
+	
+	@Override
+	public boolean has(String key) {
+		for(int i = this.layers.length - 1; i >= 0; i--) {
+			if(this.layers[i].has(key)) {
+				return true;
+			}
+		}
+		
+		return false;
+	}
+	
+	@Override
+	public <T> T get(String key, Class<T> type, T defaultValue) {
+		return this.find(key).get(type, defaultValue);
+	}
+	
+	@Override
+	public <T> List<T> getList(String key, Class<T> elementType, List<T> defaultValue) {
+		return this.find(key).getList(elementType, defaultValue);
+	}
+	
+	@Override
+	public <K, V> Map<K, V> getMap(String key, Class<K> keyType, Class<V> valueType, Map<K, V> defaultValue) {
+		return this.find(key).getMap(keyType, valueType, defaultValue);
+	}
+	
+	/**
+	 * @return the keys of all the layers, this is computed once
+	 */
+	@Override
+	public Set<String> keys() {
+		Set<String> keys = this.keys;
+		if(keys == null) {
+			keys = new LinkedHashSet<>();
+			for(IConfig layer : this.layers) {
+				keys.addAll(layer.keys());
+			}
+			
+			this.keys = keys = Collections.unmodifiableSet(keys);
+		}
+		
+		return keys;
+	}
+	
+	/**
+	 * @return the merged map, this is computed once and shares all of the
+	 * frozen maps of the layers which are not changed by any other layer
+	 */
+	@Override
+	public Map<String, Object> asMap() {
+		Map<String, Object> map = this.map;
+		if(map == null) {
+			map = FrozenMap.empty();
+			for(IConfig layer : this.layers) {
+				map = MapUtility.mergeClone(map, layer.asMap());
+			}
+			
+			this.map = map;
+		}
+		
+		return map;
+	}
+	
+	/**
+	 * @return the merged config, which no longer has to probe the layers
+	 */
+	public MapConfig flatten() {
+		/* Already expanded and frozen */
+		return new MapConfig(this.asMap(), false);
+	}
+	
+	/**
+	 * @return a new layered config with the configs as additional layers,
+	 * the layers are not merged
+	 */
+	@Override
+	public IConfig merge(IConfig... configs) {
+		IConfig[] layers = Arrays.copyOf(this.layers, this.layers.length + configs.length);
+		System.arraycopy(configs, 0, layers, this.layers.length, configs.length);
+		
+		return new LayeredConfig(layers);
+	}
+	
+	@Override
+	public IConfig resolve(IConfig config) {
+		return this.flatten().resolve(config);
+	}
+	
+	@Override
+	public String toString() {
+		return this.asMap().toString();
+	}
+}
\ No newline at end of file
@@ -1,54 +1,229 @@
 package com.jockie.config.impl;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
-import org.apache.commons.text.StringSubstitutor;
-
+import com.jockie.config.ConfigKey;
 import com.jockie.config.IConfig;
+import com.jockie.config.IConfigValue;
+import com.jockie.config.IConfigVisitor;
+import com.jockie.config.collection.IntSet;
+import com.jockie.config.collection.LongSet;
+import com.jockie.config.utility.CompiledPath;
+import com.jockie.config.utility.ConfigCompactor;
 import com.jockie.config.utility.DataTypeUtility;
 import com.jockie.config.utility.MapUtility;
+import com.jockie.config.utility.TemplateResolver;
 
 public class MapConfig implements IConfig {
 	
-	protected final Map<String, Object> map;
-	
-	protected MapConfig(Map<String, ?> config, boolean update, boolean clone, boolean expand) {
-		Map<String, Object> map = DataTypeUtility.cast(Objects.requireNonNull(config));
+	/**
+	 * An index of the full paths ("x.y.z") which have been looked up to the value at that path,
+	 * a path is only added once it has been found, which means the index never holds more than the
+	 * paths which are actually read, this is safe because the backing map is never modified once
+	 * the config is created.
+	 * <br><br>
+	 * The index is shared between the root config and all the child configs
+	 * created through {@link MapConfig#getConfig(String)}.
+	 */
+	private static class PathIndex {
+		
+		/** Used in place of null values, which can not be stored in a ConcurrentHashMap */
+		private static final Object NULL = new Object();
+		
+		/** Created on the first lookup, configs which are only merged are never read */
+		private volatile Map<String, Object> values;
 		
-		if(!update) {
-			this.map = map;
+		/** The compiled path of each key containing a "[", {@link #NULL} if the key is looked up as it is */
+		private volatile Map<String, Object> compiledPaths;
+		
+		private Map<String, Object> getValues() {
+			Map<String, Object> values = this.values;
+			if(values == null) {
+				synchronized(this) {
+					values = this.values;
+					if(values == null) {
+						this.values = values = new ConcurrentHashMap<>();
+					}
+				}
+			}
 			
-			return;
+			return values;
 		}
 		
-		/* 
-		 * TODO: There's a lot of cloning mostly the same map/collection objects,
-		 * deepClone, expandClone, substituteClone, deepCloneUnmodifiable, it should not be
-		 * too big of a deal since you're not meant to be creating configs thousands of times
-		 * per second but it's worth considering as a potential point of optimization in the future
-		 * if it's ever necessary.
+		private Map<String, Object> getCompiledPaths() {
+			Map<String, Object> compiledPaths = this.compiledPaths;
+			if(compiledPaths == null) {
+				synchronized(this) {
+					compiledPaths = this.compiledPaths;
+					if(compiledPaths == null) {
+						this.compiledPaths = compiledPaths = new ConcurrentHashMap<>();
+					}
+				}
+			}
+			
+			return compiledPaths;
+		}
+		
+		/**
+		 * @param path the full path of the key, see {@link MapConfig#getIndexPath(String)}
+		 * @param map the map to look the key up in if the path is not indexed yet
+		 * @param key the key relative to the map
+		 * 
+		 * @return the value or {@link MapUtility#MISSING} if there is no value
 		 */
+		public Object get(String path, Map<String, Object> map, String key) {
+			Map<String, Object> values = this.getValues();
+			
+			Object value = values.get(path);
+			if(value != null) {
+				return value != NULL ? value : null;
+			}
+			
+			value = MapUtility.getRaw(map, MapUtility.splitPath(key));
+			
+			/* Missing paths are not indexed, there is no limit to how many of them could be looked up */
+			if(value != MapUtility.MISSING) {
+				values.put(path, value != null ? value : NULL);
+			}
+			
+			return value;
+		}
 		
-		/* Clones all maps and collections */
-		if(clone) {
-			map = MapUtility.deepClone(map);
+		/**
+		 * Keys which contain "[" are checked as they are first, to still allow them to be used,
+		 * unlike the values the result is also stored if there is no such key
+		 * 
+		 * @param path the full path of the key, see {@link MapConfig#getIndexPath(String)}
+		 * @param map the map to look the key up in if the path is not indexed yet
+		 * @param key the key relative to the map, containing a "["
+		 * 
+		 * @return the compiled key or null if the key should be looked up as it is
+		 */
+		public CompiledPath getCompiledPath(String path, Map<String, Object> map, String key) {
+			Map<String, Object> compiledPaths = this.getCompiledPaths();
+			
+			Object compiledPath = compiledPaths.get(path);
+			if(compiledPath == null) {
+				compiledPath = this.get(path, map, key) == MapUtility.MISSING ? CompiledPath.compile(key) : null;
+				compiledPaths.put(path, compiledPath != null ? compiledPath : NULL);
+			}
+			
+			return compiledPath != NULL ? (CompiledPath) compiledPath : null;
 		}
+	}
+	
+	private static enum CollectionType {
+		LIST,
+		SET,
+		MAP,
+		ARRAY,
+		PRIMITIVE_SET;
+	}
+	
+	private static class CollectionKey {
+		
+		private final String path;
+		private final CollectionType type;
+		private final Class<?> elementType;
+		private final Class<?> keyType;
 		
-		/* Converts all dot paths to full paths, "x.y=1" becomes "{x: {y: 1}}" */
-		if(expand) {
-			map = MapUtility.expandClone(map);
+		private final int hash;
+		
+		public CollectionKey(String path, CollectionType type, Class<?> elementType, Class<?> keyType) {
+			this.path = path;
+			this.type = type;
+			this.elementType = elementType;
+			this.keyType = keyType;
+			
+			this.hash = Objects.hash(path, type, elementType, keyType);
 		}
 		
-		/* Clones all the maps and collections and returns them as unmodifiable */
-		map = MapUtility.deepCloneUnmodifiable(map);
+		@Override
+		public boolean equals(Object object) {
+			if(this == object) {
+				return true;
+			}
+			
+			if(!(object instanceof CollectionKey)) {
+				return false;
+			}
+			
+			CollectionKey other = (CollectionKey) object;
+			return this.type == other.type
+				&& this.elementType == other.elementType
+				&& this.keyType == other.keyType
+				&& this.path.equals(other.path);
+		}
+		
+		@Override
+		public int hashCode() {
+			return this.hash;
+		}
+	}
+	
+	protected final Map<String, Object> map;
+	
+	private final PathIndex index;
+	
+	/**
+	 * The converted and unmodifiable results of {@link #getList(String, Class, List)},
+	 * {@link #getSet(String, Class, Set)} and {@link #getMap(String, Class, Class, Map)},
+	 * these can be shared because the backing map is never modified.
+	 * <br><br>
+	 * This is shared in the same way as the {@link PathIndex}.
+	 */
+	private final Map<CollectionKey, Object> collections;
+	
+	/** The path of this config from the root of the index, ending with ".", null for the root */
+	private final String prefix;
+	
+	/** See {@link #MapConfig(Map, int)} */
+	private final int parallelThreshold;
+	
+	/**
+	 * @param update whether or not the map has to be frozen, if false the map must already be frozen
+	 * @param clone unused, all maps and collections which are not already frozen are always copied when they are frozen
+	 * @param expand whether or not to expand the dotted keys, "x.y=1" becomes "{x: {y: 1}}"
+	 * @param parallelThreshold see {@link #MapConfig(Map, int)}
+	 */
+	protected MapConfig(Map<String, ?> config, boolean update, boolean clone, boolean expand, int parallelThreshold) {
+		if(parallelThreshold <= 0) {
+			throw new IllegalArgumentException("The threshold has to be greater than 0");
+		}
+		
+		Map<String, Object> map = DataTypeUtility.cast(Objects.requireNonNull(config));
+		
+		if(update) {
+			/* 
+			 * Clones, converts all dot paths to full paths, "x.y=1" becomes "{x: {y: 1}}", and
+			 * freezes all maps and collections in a single pass, frozen maps and collections,
+			 * such as the ones from another config, are reused
+			 */
+			map = MapUtility.freeze(map, expand, parallelThreshold);
+		}
 		
 		this.map = map;
+		this.index = new PathIndex();
+		this.collections = new ConcurrentHashMap<>();
+		this.prefix = null;
+		this.parallelThreshold = parallelThreshold;
+	}
+	
+	protected MapConfig(Map<String, ?> config, boolean update, boolean clone, boolean expand) {
+		this(config, update, clone, expand, MapUtility.SEQUENTIAL);
 	}
 	
 	protected MapConfig(Map<String, ?> config, boolean update) {
@@ -59,6 +234,26 @@ public class MapConfig implements IConfig {
 		this(config, true);
 	}
 	
+	/**
+	 * @param parallelThreshold the number of values, counting all of the nested values, the config has to have for it to be
+	 * frozen in parallel when it is created, the same goes for the configs merged in to it, this is only worth it for very
+	 * large configs, {@link MapUtility#SEQUENTIAL} disables it, which is the default
+	 */
+	public MapConfig(Map<String, ?> config, int parallelThreshold) {
+		this(config, true, true, true, parallelThreshold);
+	}
+	
+	/**
+	 * Creates a child config which shares the index and cached collections of its parent
+	 */
+	private MapConfig(MapConfig parent, Map<String, Object> map, String prefix) {
+		this.map = map;
+		this.index = parent.index;
+		this.collections = parent.collections;
+		this.prefix = prefix;
+		this.parallelThreshold = parent.parallelThreshold;
+	}
+	
 	@SuppressWarnings("unchecked")
 	protected IConfig convertToConfig(Object value) {
 		if(value instanceof Map) {
@@ -68,6 +263,23 @@ public class MapConfig implements IConfig {
 		throw new IllegalArgumentException("Unable to convert value: " + value + " (of type: " + (value != null ? value.getClass() : null) + "), to: " + IConfig.class);
 	}
 	
+	/**
+	 * Used instead of {@link #convertToConfig(Object)} when the path of the value is known,
+	 * this allows the child config to share the path index of this config.
+	 * 
+	 * @param path the full path of the value from the root of this config
+	 */
+	@SuppressWarnings("unchecked")
+	protected IConfig convertToConfig(String path, Object value) {
+		/* Values inside of lists are not part of the index */
+		if(value instanceof Map && path.indexOf('[') == -1) {
+			/* "x." and "x" are the same path, the prefix has to be the same for both of them */
+			return new MapConfig(this, (Map<String, Object>) value, this.getIndexPath(String.join(".", MapUtility.splitPath(path))) + ".");
+		}
+		
+		return this.convertToConfig(value);
+	}
+	
 	protected Object convertValue(Object value, Class<?> type) {	
 		if(type == IConfig.class) {
 			return this.convertToConfig(value);
@@ -76,12 +288,11 @@ public class MapConfig implements IConfig {
 		return DataTypeUtility.convert(value, type);
 	}
 	
-	@Override
 	@SuppressWarnings("unchecked")
-	public <T> List<T> getList(String key, Class<T> elementType, List<T> defaultValue) {
-		List<Object> list = this.get(key, List.class);
+	protected <T> List<T> convertList(Object value, Class<T> elementType) {
+		List<Object> list = (List<Object>) this.convertValue(value, List.class);
 		if(list == null) {
-			return defaultValue;
+			return null;
 		}
 		
 		List<T> result = new ArrayList<>(list.size());
@@ -92,15 +303,14 @@ public class MapConfig implements IConfig {
 		return result;
 	}
 	
-	@Override
 	@SuppressWarnings("unchecked")
-	public <K, V> Map<K, V> getMap(String key, Class<K> keyType, Class<V> valueType, Map<K, V> defaultValue) {
-		Map<Object, Object> map = this.get(key, Map.class);
+	protected <K, V> Map<K, V> convertMap(Object value, Class<K> keyType, Class<V> valueType) {
+		Map<Object, Object> map = (Map<Object, Object>) this.convertValue(value, Map.class);
 		if(map == null) {
-			return defaultValue;
+			return null;
 		}
 		
-		Map<K, V> result = new HashMap<>(map.size());
+		Map<K, V> result = DataTypeUtility.createMap(keyType, map.size());
 		for(Entry<Object, Object> entry : map.entrySet()) {
 			K newKey = (K) this.convertValue(entry.getKey(), keyType);
 			V newValue = (V) this.convertValue(entry.getValue(), valueType);
@@ -111,84 +321,609 @@ public class MapConfig implements IConfig {
 		return result;
 	}
 	
-	@Override
+	/**
+	 * @return the cached collection or the created one if there was none,
+	 * which may be null, in which case it is not cached
+	 */
+	private Object getCollection(CollectionKey key, Function<CollectionKey, Object> create) {
+		Object collection = this.collections.get(key);
+		if(collection != null) {
+			return collection;
+		}
+		
+		/* Created outside of computeIfAbsent to not block other lookups while converting */
+		collection = create.apply(key);
+		if(collection == null) {
+			return null;
+		}
+		
+		Object existing = this.collections.putIfAbsent(key, collection);
+		return existing != null ? existing : collection;
+	}
+	
 	@SuppressWarnings("unchecked")
-	public boolean has(String key) {
-		Map<String, Object> root = this.map;
+	private <T> List<T> getList(String key, Object value, Class<T> elementType) {
+		CollectionKey collectionKey = new CollectionKey(this.getIndexPath(key), CollectionType.LIST, elementType, null);
 		
-		String[] parts = key.split("\\.");
-		for(int i = 0; i < parts.length; i++) {
-			String part = parts[i];
-			if(!root.containsKey(part)) {
-				return false;
+		return (List<T>) this.getCollection(collectionKey, (k) -> {
+			List<T> list = this.convertList(value, elementType);
+			return list != null ? Collections.unmodifiableList(list) : null;
+		});
+	}
+	
+	@SuppressWarnings("unchecked")
+	private <T> Set<T> getSet(String key, Object value, Class<T> elementType) {
+		CollectionKey collectionKey = new CollectionKey(this.getIndexPath(key), CollectionType.SET, elementType, null);
+		
+		return (Set<T>) this.getCollection(collectionKey, (k) -> {
+			List<T> list = this.getList(key, value, elementType);
+			return list != null ? Collections.unmodifiableSet(DataTypeUtility.createSet(elementType, list)) : null;
+		});
+	}
+	
+	@SuppressWarnings("unchecked")
+	private <K, V> Map<K, V> getMap(String key, Object value, Class<K> keyType, Class<V> valueType) {
+		CollectionKey collectionKey = new CollectionKey(this.getIndexPath(key), CollectionType.MAP, valueType, keyType);
+		
+		return (Map<K, V>) this.getCollection(collectionKey, (k) -> {
+			Map<K, V> map = this.convertMap(value, keyType, valueType);
+			return map != null ? Collections.unmodifiableMap(map) : null;
+		});
+	}
+	
+	/**
+	 * @return the primitive array, this is shared and must be cloned before it is returned
+	 */
+	private Object getArray(String key, Object value, Class<?> componentType) {
+		CollectionKey collectionKey = new CollectionKey(this.getIndexPath(key), CollectionType.ARRAY, componentType, null);
+		
+		return this.getCollection(collectionKey, (k) -> {
+			List<?> list = (List<?>) this.convertValue(value, List.class);
+			if(list == null) {
+				return null;
 			}
 			
-			if(i == parts.length - 1) {
-				return true;
+			if(componentType == long.class) {
+				return DataTypeUtility.toLongArray(list);
 			}
 			
-			Object object = root.get(part);
-			if(!(object instanceof Map)) {
-				return false;
+			if(componentType == int.class) {
+				return DataTypeUtility.toIntArray(list);
+			}
+			
+			if(componentType == double.class) {
+				return DataTypeUtility.toDoubleArray(list);
+			}
+			
+			throw new UnsupportedOperationException("Unsupported array type: " + componentType);
+		});
+	}
+	
+	/**
+	 * @return a copy of the array, the array is only converted once
+	 */
+	@Override
+	public long[] getLongArray(String key, long[] defaultValue) {
+		Object value = this.getRaw(key);
+		if(value == MapUtility.MISSING) {
+			return defaultValue;
+		}
+		
+		long[] array = (long[]) this.getArray(key, value, long.class);
+		return array != null ? array.clone() : defaultValue;
+	}
+	
+	/**
+	 * @return a copy of the array, the array is only converted once
+	 */
+	@Override
+	public int[] getIntArray(String key, int[] defaultValue) {
+		Object value = this.getRaw(key);
+		if(value == MapUtility.MISSING) {
+			return defaultValue;
+		}
+		
+		int[] array = (int[]) this.getArray(key, value, int.class);
+		return array != null ? array.clone() : defaultValue;
+	}
+	
+	/**
+	 * @return a copy of the array, the array is only converted once
+	 */
+	@Override
+	public double[] getDoubleArray(String key, double[] defaultValue) {
+		Object value = this.getRaw(key);
+		if(value == MapUtility.MISSING) {
+			return defaultValue;
+		}
+		
+		double[] array = (double[]) this.getArray(key, value, double.class);
+		return array != null ? array.clone() : defaultValue;
+	}
+	
+	/**
+	 * @return the primitive set, these are immutable so they can be shared
+	 */
+	private Object getPrimitiveSet(String key, Object value, Class<?> componentType) {
+		CollectionKey collectionKey = new CollectionKey(this.getIndexPath(key), CollectionType.PRIMITIVE_SET, componentType, null);
+		
+		return this.getCollection(collectionKey, (k) -> {
+			/* The array is not modified, there is no need to clone it */
+			Object array = this.getArray(key, value, componentType);
+			if(array == null) {
+				return null;
 			}
 			
-			root = (Map<String, Object>) object;
+			if(componentType == long.class) {
+				return LongSet.of((long[]) array);
+			}
+			
+			if(componentType == int.class) {
+				return IntSet.of((int[]) array);
+			}
+			
+			throw new UnsupportedOperationException("Unsupported set type: " + componentType);
+		});
+	}
+	
+	@Override
+	public LongSet getLongSet(String key, LongSet defaultValue) {
+		Object value = this.getRaw(key);
+		if(value == MapUtility.MISSING) {
+			return defaultValue;
+		}
+		
+		LongSet set = (LongSet) this.getPrimitiveSet(key, value, long.class);
+		return set != null ? set : defaultValue;
+	}
+	
+	@Override
+	public IntSet getIntSet(String key, IntSet defaultValue) {
+		Object value = this.getRaw(key);
+		if(value == MapUtility.MISSING) {
+			return defaultValue;
 		}
 		
-		return false;
+		IntSet set = (IntSet) this.getPrimitiveSet(key, value, int.class);
+		return set != null ? set : defaultValue;
 	}
 	
+	/**
+	 * @return an unmodifiable list, this is converted once and then shared between all calls
+	 */
 	@Override
+	public <T> List<T> getList(String key, Class<T> elementType, List<T> defaultValue) {
+		Object value = this.getRaw(key);
+		if(value == MapUtility.MISSING) {
+			return defaultValue;
+		}
+		
+		List<T> list = this.getList(key, value, elementType);
+		if(list == null) {
+			return defaultValue;
+		}
+		
+		return list;
+	}
+	
+	/**
+	 * @return the list which has already been converted to the element type, null if it has not been converted yet
+	 */
 	@SuppressWarnings("unchecked")
-	public <T> T get(String key, Class<T> type, T defaultValue) {
-		Map<String, Object> root = this.map;
+	private <T> List<T> getConvertedList(String key, Class<T> elementType) {
+		return (List<T>) this.collections.get(new CollectionKey(this.getIndexPath(key), CollectionType.LIST, elementType, null));
+	}
+	
+	/**
+	 * Converts the elements one by one while iterating the backing list,
+	 * the converted list is never created, if the list has already been
+	 * converted the converted list is iterated instead.
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> void forEach(String key, Class<T> elementType, Consumer<? super T> action) {
+		Object value = this.getRaw(key);
+		if(value == MapUtility.MISSING) {
+			return;
+		}
 		
-		String[] path = key.split("\\.");
-		for(int i = 0; i < path.length; i++) {
-			String part = path[i];
-			if(!root.containsKey(part)) {
+		List<T> converted = this.getConvertedList(key, elementType);
+		if(converted != null) {
+			converted.forEach(action);
+			
+			return;
+		}
+		
+		List<Object> list = (List<Object>) this.convertValue(value, List.class);
+		if(list == null) {
+			return;
+		}
+		
+		for(int i = 0, size = list.size(); i < size; i++) {
+			action.accept((T) this.convertValue(list.get(i), elementType));
+		}
+	}
+	
+	/**
+	 * Converts the elements lazily from the backing list, the converted list is
+	 * never created, if the list has already been converted it is streamed instead.
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> Stream<T> stream(String key, Class<T> elementType) {
+		Object value = this.getRaw(key);
+		if(value == MapUtility.MISSING) {
+			return Stream.empty();
+		}
+		
+		List<T> converted = this.getConvertedList(key, elementType);
+		if(converted != null) {
+			return converted.stream();
+		}
+		
+		List<Object> list = (List<Object>) this.convertValue(value, List.class);
+		if(list == null) {
+			return Stream.empty();
+		}
+		
+		return list.stream().map((element) -> (T) this.convertValue(element, elementType));
+	}
+	
+	/**
+	 * @return an unmodifiable set, this is converted once and then shared between all calls
+	 */
+	@Override
+	public <T> Set<T> getSet(String key, Class<T> elementType, Set<T> defaultValue) {
+		Object value = this.getRaw(key);
+		if(value == MapUtility.MISSING) {
+			return defaultValue;
+		}
+		
+		Set<T> set = this.getSet(key, value, elementType);
+		if(set == null) {
+			return defaultValue;
+		}
+		
+		return set;
+	}
+	
+	/**
+	 * @return an unmodifiable map, this is converted once and then shared between all calls
+	 */
+	@Override
+	public <K, V> Map<K, V> getMap(String key, Class<K> keyType, Class<V> valueType, Map<K, V> defaultValue) {
+		Object value = this.getRaw(key);
+		if(value == MapUtility.MISSING) {
+			return defaultValue;
+		}
+		
+		Map<K, V> map = this.getMap(key, value, keyType, valueType);
+		if(map == null) {
+			return defaultValue;
+		}
+		
+		return map;
+	}
+	
+	/**
+	 * Converts the already looked up value directly instead of looking it up again
+	 */
+	private class Value extends ConfigValue {
+		
+		public Value(String key, Object raw) {
+			super(MapConfig.this, key, raw);
+		}
+		
+		@Override
+		public <T> T get(Class<T> type, T defaultValue) {
+			if(this.raw == MapUtility.MISSING) {
+				return defaultValue;
+			}
+			
+			return MapConfig.this.convertValue(this.key, this.raw, type);
+		}
+		
+		@Override
+		public <T> List<T> getList(Class<T> elementType, List<T> defaultValue) {
+			if(this.raw == MapUtility.MISSING) {
+				return defaultValue;
+			}
+			
+			List<T> list = MapConfig.this.getList(this.key, this.raw, elementType);
+			return list != null ? list : defaultValue;
+		}
+		
+		@Override
+		public <T> Set<T> getSet(Class<T> elementType, Set<T> defaultValue) {
+			if(this.raw == MapUtility.MISSING) {
+				return defaultValue;
+			}
+			
+			Set<T> set = MapConfig.this.getSet(this.key, this.raw, elementType);
+			return set != null ? set : defaultValue;
+		}
+		
+		@Override
+		public <K, V> Map<K, V> getMap(Class<K> keyType, Class<V> valueType, Map<K, V> defaultValue) {
+			if(this.raw == MapUtility.MISSING) {
+				return defaultValue;
+			}
+			
+			Map<K, V> map = MapConfig.this.getMap(this.key, this.raw, keyType, valueType);
+			return map != null ? map : defaultValue;
+		}
+		
+		@Override
+		public long[] getLongArray(long[] defaultValue) {
+			if(this.raw == MapUtility.MISSING) {
 				return defaultValue;
 			}
 			
-			Object object = root.get(part);
-			if(i == path.length - 1) {
-				return (T) this.convertValue(object, type);
+			long[] array = (long[]) MapConfig.this.getArray(this.key, this.raw, long.class);
+			return array != null ? array.clone() : defaultValue;
+		}
+		
+		@Override
+		public int[] getIntArray(int[] defaultValue) {
+			if(this.raw == MapUtility.MISSING) {
+				return defaultValue;
 			}
 			
-			if(!(object instanceof Map)) {
+			int[] array = (int[]) MapConfig.this.getArray(this.key, this.raw, int.class);
+			return array != null ? array.clone() : defaultValue;
+		}
+		
+		@Override
+		public double[] getDoubleArray(double[] defaultValue) {
+			if(this.raw == MapUtility.MISSING) {
 				return defaultValue;
 			}
 			
-			root = (Map<String, Object>) object;
+			double[] array = (double[]) MapConfig.this.getArray(this.key, this.raw, double.class);
+			return array != null ? array.clone() : defaultValue;
 		}
 		
-		return defaultValue;
+		@Override
+		public LongSet getLongSet(LongSet defaultValue) {
+			if(this.raw == MapUtility.MISSING) {
+				return defaultValue;
+			}
+			
+			LongSet set = (LongSet) MapConfig.this.getPrimitiveSet(this.key, this.raw, long.class);
+			return set != null ? set : defaultValue;
+		}
+		
+		@Override
+		public IntSet getIntSet(IntSet defaultValue) {
+			if(this.raw == MapUtility.MISSING) {
+				return defaultValue;
+			}
+			
+			IntSet set = (IntSet) MapConfig.this.getPrimitiveSet(this.key, this.raw, int.class);
+			return set != null ? set : defaultValue;
+		}
 	}
 	
 	@Override
-	public IConfig merge(IConfig... configs) {
-		for(IConfig config : configs) {
-			if(!(config instanceof MapConfig)) {
-				throw new UnsupportedOperationException();
+	public IConfigValue find(String key) {
+		return new Value(key, this.getRaw(key));
+	}
+	
+	/**
+	 * Looks up all of the keys in a single pass, the keys are sorted so that keys
+	 * sharing a common path ("x.y.a" and "x.y.b") are next to each other, this allows
+	 * the walk to continue from the deepest common map instead of the root.
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public Map<String, IConfigValue> getAll(Collection<String> keys) {
+		Map<String, IConfigValue> values = new HashMap<>();
+		
+		String[] sorted = keys.toArray(new String[0]);
+		Arrays.sort(sorted);
+		
+		/* The map reached after walking the first i parts of the previous path */
+		Map<?, ?>[] maps = new Map<?, ?>[8];
+		maps[0] = this.map;
+		
+		/* The deepest valid index in maps */
+		int depth = 0;
+		
+		String[] previous = new String[0];
+		for(String key : sorted) {
+			if(key.indexOf('[') != -1) {
+				values.put(key, this.find(key));
+				
+				continue;
+			}
+			
+			String[] path = MapUtility.splitPath(key);
+			
+			int common = 0;
+			while(common < depth && common < path.length - 1 && common < previous.length && path[common].equals(previous[common])) {
+				common++;
+			}
+			
+			if(maps.length < path.length) {
+				maps = Arrays.copyOf(maps, path.length);
+			}
+			
+			Object value = MapUtility.MISSING;
+			depth = common;
+			
+			for(int i = common; i < path.length; i++) {
+				Object object = ((Map<Object, Object>) maps[i]).getOrDefault(path[i], MapUtility.MISSING);
+				if(i == path.length - 1) {
+					value = object;
+					
+					break;
+				}
+				
+				if(!(object instanceof Map)) {
+					break;
+				}
+				
+				maps[i + 1] = (Map<?, ?>) object;
+				depth = i + 1;
+			}
+			
+			values.put(key, new Value(key, value));
+			previous = path;
+		}
+		
+		return values;
+	}
+	
+	private String getIndexPath(String key) {
+		return this.prefix != null ? this.prefix + key : key;
+	}
+	
+	/**
+	 * @return the raw (unconverted) value at the path or {@link MapUtility#MISSING} if there is no value
+	 */
+	@Override
+	public Object getRaw(String key) {
+		String indexPath = this.getIndexPath(key);
+		
+		if(key.indexOf('[') != -1) {
+			CompiledPath path = this.index.getCompiledPath(indexPath, this.map, key);
+			if(path != null) {
+				return this.getRaw(path);
 			}
 		}
 		
-		Map<String, Object> result = MapUtility.deepClone(this.map);
+		return this.index.get(indexPath, this.map, key);
+	}
+	
+	/**
+	 * The part of the path before the first index or wildcard is looked up through the
+	 * index, only the rest of the path is evaluated.
+	 * 
+	 * @return the raw (unconverted) value at the path or {@link MapUtility#MISSING} if there is no value,
+	 * a wildcard returns a projection of the list
+	 */
+	public Object getRaw(CompiledPath path) {
+		String prefix = path.getPrefix();
+		if(prefix == null) {
+			return path.evaluate(this.map);
+		}
+		
+		return path.evaluateFromPrefix(this.getRaw(prefix));
+	}
+	
+	/**
+	 * @param path the already split path, see {@link MapUtility#splitPath(String)}
+	 * 
+	 * @return the raw (unconverted) value at the path or {@link MapUtility#MISSING} if there is no value
+	 */
+	public Object getRaw(String[] path) {
+		return MapUtility.getRaw(this.map, path);
+	}
+	
+	@Override
+	public boolean has(String key) {
+		return this.getRaw(key) != MapUtility.MISSING;
+	}
+	
+	@SuppressWarnings("unchecked")
+	private <T> T convertValue(String key, Object value, Class<T> type) {
+		if(type == IConfig.class) {
+			return (T) this.convertToConfig(key, value);
+		}
+		
+		return (T) this.convertValue(value, type);
+	}
+	
+	@Override
+	public <T> T get(String key, Class<T> type, T defaultValue) {
+		Object value = this.getRaw(key);
+		if(value == MapUtility.MISSING) {
+			return defaultValue;
+		}
+		
+		return this.convertValue(key, value, type);
+	}
+	
+	@Override
+	public Object getRaw(ConfigKey<?> key) {
+		CompiledPath compiledPath = key.getCompiledPath();
+		if(compiledPath == null) {
+			return this.getRaw(key.getKey());
+		}
+		
+		/* Same as #getRaw(String) but the path has already been compiled */
+		Object value = this.index.get(this.getIndexPath(key.getKey()), this.map, key.getKey());
+		if(value != MapUtility.MISSING) {
+			return value;
+		}
+		
+		return this.getRaw(compiledPath);
+	}
+	
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> T get(ConfigKey<T> key, T defaultValue) {
+		Object value = this.getRaw(key);
+		if(value == MapUtility.MISSING) {
+			return defaultValue;
+		}
+		
+		/* No need to go through the conversion if it's already the correct type */
+		if(key.getType() != IConfig.class && key.isInstance(value)) {
+			return (T) value;
+		}
+		
+		return this.convertValue(key.getKey(), value, key.getType());
+	}
+	
+	/**
+	 * @return the frozen map of the config, any config which is not a {@link MapConfig} is visited
+	 * to create it, see {@link IConfig#accept(IConfigVisitor)}
+	 */
+	private static Map<String, Object> toFrozenMap(IConfig config) {
+		if(config instanceof MapConfig) {
+			return ((MapConfig) config).map;
+		}
+		
+		return MapUtility.freeze(config);
+	}
+	
+	@Override
+	public void accept(IConfigVisitor visitor) {
+		MapUtility.visit(this.map, visitor);
+	}
+	
+	@Override
+	public IConfig merge(IConfig... configs) {
+		/* 
+		 * The maps are persistent, only the nodes on the paths which are changed by the
+		 * other configs are copied, everything else is shared between all the configs
+		 */
+		Map<String, Object> result = this.map;
 		for(IConfig config : configs) {
-			Map<String, Object> other = MapUtility.deepClone(((MapConfig) config).map);
-			MapUtility.deepMerge(result, other, false);
+			result = MapUtility.mergeClone(result, MapConfig.toFrozenMap(config), this.parallelThreshold);
 		}
 		
-		/* Already cloned and expanded previously */
-		return new MapConfig(result, true, false, false);
+		/* Already expanded and frozen */
+		return new MapConfig(result, false, false, false, this.parallelThreshold);
 	}
 	
 	@Override
 	public IConfig resolve(IConfig config) {
-		StringSubstitutor substitutor = new StringSubstitutor(new ConfigStringLookup(config));
+		/* Replaces all template variables "${x}" with the real values, everything else is shared */
+		Map<String, Object> map = MapUtility.resolve(this.map, new TemplateResolver(config));
+		if(map == this.map) {
+			return this;
+		}
 		
-		/* Replaces all template variables "${x}" with the real values */
-		return new MapConfig(MapUtility.substituteClone(this.map, substitutor), true, false, false);
+		/* Already expanded and frozen */
+		return new MapConfig(map, false, false, false, this.parallelThreshold);
+	}
+	
+	@Override
+	public IConfig compact(ConfigCompactor compactor) {
+		/* Already expanded and frozen */
+		return new MapConfig(compactor.compact(this.map), false, false, false, this.parallelThreshold);
 	}
 	
 	/**
@@ -205,6 +940,13 @@ public class MapConfig implements IConfig {
 		return this.map.keySet();
 	}
 	
+	/**
+	 * @see #MapConfig(Map, int)
+	 */
+	public int getParallelThreshold() {
+		return this.parallelThreshold;
+	}
+	
 	@Override
 	public String toString() {
 		/* 
@@ -4,14 +4,44 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Properties;
 
+import com.jockie.config.utility.MapUtility;
+
 public class PropertiesConfig extends MapConfig {
 	
 	public PropertiesConfig(Properties properties) {
-		super(PropertiesConfig.toMap(properties));
+		this(properties, null);
+	}
+	
+	/**
+	 * @param prefix the path, "x.y", of the properties to include, the prefix is removed from
+	 * the keys, "x.y.z=1" becomes "z=1", or null to include all of the properties
+	 */
+	public PropertiesConfig(Properties properties, String prefix) {
+		/* Already expanded */
+		super(PropertiesConfig.toMap(properties, prefix), true, false, false);
 	}
 	
-	@SuppressWarnings({"unchecked", "rawtypes"})
-	private static Map<String, Object> toMap(Properties properties) {
-		return new HashMap<>((Map) properties);
+	/**
+	 * Expands the properties while they are read, only the properties with the prefix are copied
+	 */
+	private static Map<String, Object> toMap(Properties properties, String prefix) {
+		String start = prefix != null ? prefix + "." : "";
+		
+		Map<String, Object> map = new HashMap<>();
+		
+		/* Holds the lock of the properties, they may be changed by other threads while they are read */
+		properties.forEach((key, value) -> {
+			/* Properties can only be looked up by a string key */
+			if(!(key instanceof String)) {
+				return;
+			}
+			
+			String path = (String) key;
+			if(path.length() > start.length() && path.startsWith(start)) {
+				MapUtility.putExpanded(map, path.substring(start.length()), value);
+			}
+		});
+		
+		return map;
 	}
 }
\ No newline at end of file
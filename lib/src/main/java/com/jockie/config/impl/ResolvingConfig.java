@@ -0,0 +1,194 @@
+package com.jockie.config.impl;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.jockie.config.IConfig;
+import com.jockie.config.collection.FrozenMap;
+import com.jockie.config.utility.MapUtility;
+import com.jockie.config.utility.Template;
+import com.jockie.config.utility.TemplateResolver;
+
+/**
+ * A view of a config which resolves the template variables, "${x}", of a value the first
+ * time it is read, this is the same as {@link IConfig#resolve(IConfig)} but the parts of the
+ * config which are never read are never resolved. Reading a map, including through
+ * {@link #getConfig(String)}, resolves the whole map, reading a value below a variable,
+ * "x.y" where x is "${z}", resolves the variable and reads the rest of the path from its value.
+ * <br><br>
+ * Each value is only resolved once, different values can be resolved by multiple threads at the
+ * same time, a variable which refers back to itself throws an {@link IllegalStateException} when it is read.
+ */
+public class ResolvingConfig implements IConfig {
+	
+	/** The key of the value in the configs of the resolved values */
+	private static final String VALUE = "value";
+	
+	/** The config of a key which does not have to be resolved, it is read from the config directly */
+	private static final IConfig DIRECT = new MapConfig(FrozenMap.empty(), false);
+	
+	/** The config of a key below a variable which does not have a value */
+	private static final IConfig MISSING = new MapConfig(FrozenMap.empty(), false);
+	
+	/** The config which is resolved */
+	private final IConfig config;
+	
+	private final TemplateResolver resolver;
+	
+	/** The resolved values by their key, each value is in its own config so that it can be converted */
+	private final Map<String, IConfig> values = new ConcurrentHashMap<>();
+	
+	private volatile Map<String, Object> map;
+	
+	/**
+	 * @param config the config to resolve
+	 * @param source the config to look the variables up in
+	 */
+	public ResolvingConfig(IConfig config, IConfig source) {
+		this.config = Objects.requireNonNull(config);
+		this.resolver = new TemplateResolver(Objects.requireNonNull(source));
+	}
+	
+	private static IConfig toConfig(Object value) {
+		if(value == MapUtility.MISSING) {
+			return ResolvingConfig.MISSING;
+		}
+		
+		/* Already frozen */
+		return new MapConfig(FrozenMap.<String, Object>empty().with(VALUE, value), false);
+	}
+	
+	/**
+	 * @return the config of the resolved value at the key, null if the value does not have to be resolved,
+	 * in which case it can be read from the config directly
+	 */
+	private IConfig getResolved(String key) {
+		IConfig value = this.values.get(key);
+		if(value == null) {
+			value = this.values.computeIfAbsent(key, this::resolve);
+		}
+		
+		return value != DIRECT ? value : null;
+	}
+	
+	private IConfig resolve(String key) {
+		String[] path = MapUtility.splitPath(key);
+		
+		/* The nearest variable above the key, the rest of the path is read from its resolved value */
+		for(int i = 1; i < path.length; i++) {
+			String parent = String.join(".", Arrays.copyOf(path, i));
+			
+			Object raw = this.config.find(parent).getRaw();
+			if(raw instanceof String && Template.isTemplate((String) raw)) {
+				Object node = this.resolver.lookupNode(parent);
+				if(node == null) {
+					return ResolvingConfig.MISSING;
+				}
+				
+				String rest = String.join(".", Arrays.copyOfRange(path, i, path.length));
+				return ResolvingConfig.toConfig(ResolvingConfig.toConfig(node).find(VALUE + "." + rest).getRaw());
+			}
+			
+			if(!(raw instanceof Map)) {
+				break;
+			}
+		}
+		
+		Object raw = this.config.find(key).getRaw();
+		if(raw instanceof Map || raw instanceof List) {
+			return ResolvingConfig.toConfig(this.resolver.lookupNode(key));
+		}
+		
+		if(raw instanceof String && Template.isTemplate((String) raw)) {
+			return ResolvingConfig.toConfig(this.resolver.resolveValue((String) raw));
+		}
+		
+		return ResolvingConfig.DIRECT;
+	}
+	
+	@Override
+	public boolean has(String key) {
+		IConfig value = this.getResolved(key);
+		if(value == null) {
+			return this.config.has(key);
+		}
+		
+		return value.has(VALUE);
+	}
+	
+	@Override
+	public <T> T get(String key, Class<T> type, T defaultValue) {
+		IConfig value = this.getResolved(key);
+		if(value == null) {
+			return this.config.get(key, type, defaultValue);
+		}
+		
+		return value.get(VALUE, type, defaultValue);
+	}
+	
+	@Override
+	public <T> List<T> getList(String key, Class<T> elementType, List<T> defaultValue) {
+		IConfig value = this.getResolved(key);
+		if(value == null) {
+			return this.config.getList(key, elementType, defaultValue);
+		}
+		
+		return value.getList(VALUE, elementType, defaultValue);
+	}
+	
+	@Override
+	public <K, V> Map<K, V> getMap(String key, Class<K> keyType, Class<V> valueType, Map<K, V> defaultValue) {
+		IConfig value = this.getResolved(key);
+		if(value == null) {
+			return this.config.getMap(key, keyType, valueType, defaultValue);
+		}
+		
+		return value.getMap(VALUE, keyType, valueType, defaultValue);
+	}
+	
+	/**
+	 * The keys are not templates, they are the same as the keys of the config
+	 */
+	@Override
+	public Set<String> keys() {
+		return this.config.keys();
+	}
+	
+	/**
+	 * @return the fully resolved map, this resolves the whole config once
+	 */
+	@Override
+	public Map<String, Object> asMap() {
+		Map<String, Object> map = this.map;
+		if(map == null) {
+			synchronized(this) {
+				map = this.map;
+				if(map == null) {
+					this.map = map = MapUtility.resolve(MapUtility.freeze(this.config), this.resolver);
+				}
+			}
+		}
+		
+		return map;
+	}
+	
+	@Override
+	public IConfig merge(IConfig... configs) {
+		/* Same as resolving the config and then merging it */
+		return new MapConfig(this.asMap(), false).merge(configs);
+	}
+	
+	@Override
+	public IConfig resolve(IConfig config) {
+		return new MapConfig(this.asMap(), false).resolve(config);
+	}
+	
+	@Override
+	public String toString() {
+		return this.asMap().toString();
+	}
+}
\ No newline at end of file
@@ -5,4 +5,11 @@ public class SystemPropertiesConfig extends PropertiesConfig {
 	public SystemPropertiesConfig() {
 		super(System.getProperties());
 	}
+	
+	/**
+	 * @see PropertiesConfig#PropertiesConfig(java.util.Properties, String)
+	 */
+	public SystemPropertiesConfig(String prefix) {
+		super(System.getProperties(), prefix);
+	}
 }
\ No newline at end of file
@@ -9,7 +9,6 @@ import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -20,6 +19,9 @@ import java.util.concurrent.LinkedBlockingQueue;
 
 import com.jockie.config.ConfigFactory;
 import com.jockie.config.IConfig;
+import com.jockie.config.IConfigValue;
+import com.jockie.config.collection.IntSet;
+import com.jockie.config.collection.LongSet;
 import com.jockie.config.utility.DataTypeUtility;
 
 /*
@@ -53,6 +55,9 @@ public abstract class AbstractFieldConfig {
 	private final IConfig config;
 	private BlockingQueue<Field> queue = new LinkedBlockingQueue<>();
 	
+	/** All of the values for the fields in the queue, these are looked up at once when the config is created */
+	private Map<String, IConfigValue> values;
+	
 	@SuppressWarnings("unchecked")
 	private <T> T cast(Object value) {
 		return DataTypeUtility.cast(value);
@@ -85,6 +90,14 @@ public abstract class AbstractFieldConfig {
 			return this.cast(Collections.emptyList());
 		}
 		
+		if(type == LongSet.class) {
+			return this.cast(LongSet.empty());
+		}
+		
+		if(type == IntSet.class) {
+			return this.cast(IntSet.empty());
+		}
+		
 		if(Set.class.isAssignableFrom(type)) {
 			return this.cast(Collections.emptySet());
 		}
@@ -93,6 +106,18 @@ public abstract class AbstractFieldConfig {
 			return this.cast(Collections.emptyMap());
 		}
 		
+		if(type == long[].class) {
+			return this.cast(new long[0]);
+		}
+		
+		if(type == int[].class) {
+			return this.cast(new int[0]);
+		}
+		
+		if(type == double[].class) {
+			return this.cast(new double[0]);
+		}
+		
 		if(DataTypeUtility.isPrimitiveNumber(type)) {
 			return this.cast(DataTypeUtility.convertNumber(0, type));
 		}
@@ -104,8 +129,18 @@ public abstract class AbstractFieldConfig {
 		return null;
 	}
 	
-	private <T> T getValue(Field field, String name) {
-		return this.cast(AbstractFieldConfig.getValue(this, field.getGenericType(), field.getType(), this.config, name));
+	private IConfigValue getConfigValue(String name) {
+		IConfigValue value = this.values.get(name);
+		if(value == null) {
+			/* Should never really happen, all of the names are looked up when the config is created */
+			value = this.config.find(name);
+		}
+		
+		return value;
+	}
+	
+	private <T> T getValue(Field field, IConfigValue value) {
+		return this.cast(AbstractFieldConfig.getValue(this, field.getGenericType(), field.getType(), value));
 	}
 	
 	private <T> T getSpecialValue(Field field) {
@@ -129,11 +164,13 @@ public abstract class AbstractFieldConfig {
 		}
 		
 		String name = this.getName(field);
-		if(!this.config.has(name)) {
+		
+		IConfigValue value = this.getConfigValue(name);
+		if(!value.isPresent()) {
 			throw new IllegalStateException("Missing required field: " + name);
 		}
 		
-		return this.getValue(field, name);
+		return this.getValue(field, value);
 	}
 	
 	protected final <T> T with() {
@@ -145,11 +182,13 @@ public abstract class AbstractFieldConfig {
 		}
 		
 		String name = this.getName(field);
-		if(!this.config.has(name)) {
+		
+		IConfigValue value = this.getConfigValue(name);
+		if(!value.isPresent()) {
 			return this.defaultValue(field.getType());
 		}
 		
-		return this.getValue(field, name);
+		return this.getValue(field, value);
 	}
 	
 	/* TODO: Add suport for maps etc */
@@ -162,11 +201,13 @@ public abstract class AbstractFieldConfig {
 		}
 		
 		String name = this.getName(field);
-		if(!this.config.has(name)) {
+		
+		IConfigValue value = this.getConfigValue(name);
+		if(!value.isPresent()) {
 			return this.cast(AbstractFieldConfig.createInternal(this, config, field.getType()));
 		}
 		
-		return this.getValue(field, name);
+		return this.getValue(field, value);
 	}
 	
 	protected final <T> T with(T defaultValue) {
@@ -178,7 +219,9 @@ public abstract class AbstractFieldConfig {
 		}
 		
 		String name = this.getName(field);
-		if(!this.config.has(name)) {
+		
+		IConfigValue value = this.getConfigValue(name);
+		if(!value.isPresent()) {
 			Class<?> type = field.getType();
 			if(DataTypeUtility.isNumber(type)) {
 				/* Ensure the defaultValue is the correct type, this is to ensure type safety between different number types */
@@ -188,7 +231,7 @@ public abstract class AbstractFieldConfig {
 			return defaultValue;
 		}
 		
-		return this.getValue(field, name);
+		return this.getValue(field, value);
 	}
 	
 	protected final <T extends Number> T with(long defaultValue) {
@@ -230,6 +273,14 @@ public abstract class AbstractFieldConfig {
 		this.requireFinal = annotation != null ? annotation.requireFinal() : true;
 		
 		this.addFieldsToQueue();
+		
+		Set<String> names = new HashSet<>();
+		for(Field field : this.queue) {
+			names.add(this.getName(field));
+		}
+		
+		/* Look up all of the fields at once, this is cheaper than looking them up one by one */
+		this.values = this.config.getAll(names);
 	}
 	
 	private void addFieldsToQueue() {
@@ -256,11 +307,11 @@ public abstract class AbstractFieldConfig {
 		}
 	}
 	
-	private static List<?> getList(Object instance, Type elementType, IConfig config, String name) {
+	private static List<?> getList(Object instance, Type elementType, IConfigValue value) {
 		if(AbstractFieldConfig.isFieldConfig(instance, (Class<?>) elementType)) {
 			List<Object> result = new ArrayList<>();
 			
-			List<IConfig> configs = config.getList(name, IConfig.class);
+			List<IConfig> configs = value.getList(IConfig.class);
 			for(IConfig fieldConfig : configs) {
 				result.add(AbstractFieldConfig.createInternal(instance, fieldConfig, (Class<?>) elementType));
 			}
@@ -268,18 +319,22 @@ public abstract class AbstractFieldConfig {
 			return result;
 		}
 		
-		return config.getList(name, (Class<?>) elementType);
+		return value.getList((Class<?>) elementType);
 	}
 	
-	private static Set<?> getSet(Object instance, Type parameterType, IConfig config, String name) {
-		return new HashSet<>(AbstractFieldConfig.getList(instance, parameterType, config, name));
+	private static Set<?> getSet(Object instance, Type parameterType, IConfigValue value) {
+		if(AbstractFieldConfig.isFieldConfig(instance, (Class<?>) parameterType)) {
+			return new HashSet<>(AbstractFieldConfig.getList(instance, parameterType, value));
+		}
+		
+		return value.getSet((Class<?>) parameterType);
 	}
 	
-	private static Map<?, ?> getMap(Object instance, Type keyType, Type valueType, IConfig config, String name) {
+	private static Map<?, ?> getMap(Object instance, Type keyType, Type valueType, IConfigValue value) {
 		if(AbstractFieldConfig.isFieldConfig(instance, (Class<?>) valueType)) {
-			Map<Object, Object> result = new HashMap<>();
+			Map<?, IConfig> map = value.getMap((Class<?>) keyType, IConfig.class);
+			Map<Object, Object> result = DataTypeUtility.cast(DataTypeUtility.createMap((Class<?>) keyType, map.size()));
 			
-			Map<?, IConfig> map = config.getMap(name, (Class<?>) keyType, IConfig.class);
 			for(Entry<?, IConfig> entry : map.entrySet()) {
 				result.put(entry.getKey(), AbstractFieldConfig.createInternal(instance, entry.getValue(), (Class<?>) valueType));
 			}
@@ -287,10 +342,10 @@ public abstract class AbstractFieldConfig {
 			return result;
 		}
 		
-		return config.getMap(name, (Class<?>) keyType, (Class<?>) valueType);
+		return value.getMap((Class<?>) keyType, (Class<?>) valueType);
 	}
 	
-	private static Object getValue(Object instance, Type parameterType, Class<?> parameterClass, IConfig config, String name) {
+	private static Object getValue(Object instance, Type parameterType, Class<?> parameterClass, IConfigValue value) {
 		Type[] types;
 		if(parameterType instanceof ParameterizedType) {
 			types = ((ParameterizedType) parameterType).getActualTypeArguments();
@@ -302,22 +357,51 @@ public abstract class AbstractFieldConfig {
 		}
 		
 		if(parameterClass == List.class) {
-			return Collections.unmodifiableList(AbstractFieldConfig.getList(instance, types[0], config, name));
+			return Collections.unmodifiableList(AbstractFieldConfig.getList(instance, types[0], value));
 		}
 		
 		if(parameterClass == Set.class) {
-			return Collections.unmodifiableSet(AbstractFieldConfig.getSet(instance, types[0], config, name));
+			/* Large sets of ids use a lot less memory as primitive sets */
+			if(types[0] == Long.class) {
+				return value.getLongSet();
+			}
+			
+			if(types[0] == Integer.class) {
+				return value.getIntSet();
+			}
+			
+			return Collections.unmodifiableSet(AbstractFieldConfig.getSet(instance, types[0], value));
+		}
+		
+		if(parameterClass == LongSet.class) {
+			return value.getLongSet();
+		}
+		
+		if(parameterClass == IntSet.class) {
+			return value.getIntSet();
 		}
 		
 		if(parameterClass == Map.class) {
-			return Collections.unmodifiableMap(AbstractFieldConfig.getMap(instance, types[0], types[1], config, name));
+			return Collections.unmodifiableMap(AbstractFieldConfig.getMap(instance, types[0], types[1], value));
+		}
+		
+		if(parameterClass == long[].class) {
+			return value.getLongArray();
+		}
+		
+		if(parameterClass == int[].class) {
+			return value.getIntArray();
+		}
+		
+		if(parameterClass == double[].class) {
+			return value.getDoubleArray();
 		}
 		
 		if(AbstractFieldConfig.isFieldConfig(instance, parameterClass)) {
-			return AbstractFieldConfig.createInternal(instance, config.get(name, IConfig.class), parameterClass);
+			return AbstractFieldConfig.createInternal(instance, value.get(IConfig.class), parameterClass);
 		}
 		
-		return config.get(name, parameterClass);
+		return value.get(parameterClass);
 	}
 	
 	public static AbstractFieldConfig createInternal(Object instance, IConfig config, Class<?> type) {
@@ -327,6 +411,7 @@ public abstract class AbstractFieldConfig {
 		}
 		
 		fieldConfig.queue = null;
+		fieldConfig.values = null;
 		return fieldConfig;
 	}
 	
@@ -23,6 +23,9 @@ import java.util.stream.Collectors;
 
 import com.jockie.config.ConfigFactory;
 import com.jockie.config.IConfig;
+import com.jockie.config.IConfigValue;
+import com.jockie.config.collection.IntSet;
+import com.jockie.config.collection.LongSet;
 import com.jockie.config.utility.DataTypeUtility;
 
 /* TODO: Better error messages, for instance, include which property had issues */
@@ -110,7 +113,7 @@ public class InterfaceConfigImpl {
 		public DelegateInvocationHandler(InvocationHandler handler) {
 			this.handler = handler;
 		}
-
+		
 		@Override
 		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
 			return this.handler.invoke(proxy, method, args);
@@ -241,11 +244,11 @@ public class InterfaceConfigImpl {
 		return Proxy.newProxyInstance(Thread.currentThread().getContextClassLoader(), new Class[] { this.proxiedInterface, InternalConfigImpl.class }, handler);
 	}
 	
-	private List<?> getList(Type elementType, IConfig config, String name) {
+	private List<?> getList(Type elementType, IConfigValue value) {
 		if(this.isConfig((Class<?>) elementType)) {
 			List<Object> result = new ArrayList<>();
 			
-			List<IConfig> configs = config.getList(name, IConfig.class);
+			List<IConfig> configs = value.getList(IConfig.class);
 			for(IConfig fieldConfig : configs) {
 				result.add(InterfaceConfigImpl.createInternal(fieldConfig, this, (Class<?>) elementType));
 			}
@@ -253,18 +256,22 @@ public class InterfaceConfigImpl {
 			return result;
 		}
 		
-		return config.getList(name, (Class<?>) elementType);
+		return value.getList((Class<?>) elementType);
 	}
 	
-	private Set<?> getSet(Type parameterType, IConfig config, String name) {
-		return new HashSet<>(this.getList(parameterType, config, name));
+	private Set<?> getSet(Type parameterType, IConfigValue value) {
+		if(this.isConfig((Class<?>) parameterType)) {
+			return new HashSet<>(this.getList(parameterType, value));
+		}
+		
+		return value.getSet((Class<?>) parameterType);
 	}
 	
-	private Map<?, ?> getMap(Type keyType, Type valueType, IConfig config, String name) {
+	private Map<?, ?> getMap(Type keyType, Type valueType, IConfigValue value) {
 		if(this.isConfig((Class<?>) valueType)) {
-			Map<Object, Object> result = new HashMap<>();
+			Map<?, IConfig> map = value.getMap((Class<?>) keyType, IConfig.class);
+			Map<Object, Object> result = DataTypeUtility.cast(DataTypeUtility.createMap((Class<?>) keyType, map.size()));
 			
-			Map<?, IConfig> map = config.getMap(name, (Class<?>) keyType, IConfig.class);
 			for(Entry<?, IConfig> entry : map.entrySet()) {
 				result.put(entry.getKey(), InterfaceConfigImpl.createInternal(entry.getValue(), this, (Class<?>) valueType));
 			}
@@ -272,10 +279,10 @@ public class InterfaceConfigImpl {
 			return result;
 		}
 		
-		return config.getMap(name, (Class<?>) keyType, (Class<?>) valueType);
+		return value.getMap((Class<?>) keyType, (Class<?>) valueType);
 	}
 	
-	private Object getValue(Type parameterType, Class<?> parameterClass, IConfig config, String name) {
+	private Object getValue(Type parameterType, Class<?> parameterClass, IConfigValue value) {
 		Type[] types;
 		if(parameterType instanceof ParameterizedType) {
 			types = ((ParameterizedType) parameterType).getActualTypeArguments();
@@ -287,22 +294,51 @@ public class InterfaceConfigImpl {
 		}
 		
 		if(parameterClass == List.class) {
-			return Collections.unmodifiableList(this.getList(types[0], config, name));
+			return Collections.unmodifiableList(this.getList(types[0], value));
 		}
 		
 		if(parameterClass == Set.class) {
-			return Collections.unmodifiableSet(this.getSet(types[0], config, name));
+			/* Large sets of ids use a lot less memory as primitive sets */
+			if(types[0] == Long.class) {
+				return value.getLongSet();
+			}
+			
+			if(types[0] == Integer.class) {
+				return value.getIntSet();
+			}
+			
+			return Collections.unmodifiableSet(this.getSet(types[0], value));
+		}
+		
+		if(parameterClass == LongSet.class) {
+			return value.getLongSet();
+		}
+		
+		if(parameterClass == IntSet.class) {
+			return value.getIntSet();
 		}
 		
 		if(parameterClass == Map.class) {
-			return Collections.unmodifiableMap(this.getMap(types[0], types[1], config, name));
+			return Collections.unmodifiableMap(this.getMap(types[0], types[1], value));
+		}
+		
+		if(parameterClass == long[].class) {
+			return value.getLongArray();
+		}
+		
+		if(parameterClass == int[].class) {
+			return value.getIntArray();
+		}
+		
+		if(parameterClass == double[].class) {
+			return value.getDoubleArray();
 		}
 		
 		if(this.isConfig(parameterClass)) {
-			return InterfaceConfigImpl.createInternal(config.get(name, IConfig.class), this, parameterClass);
+			return InterfaceConfigImpl.createInternal(value.get(IConfig.class), this, parameterClass);
 		}
 		
-		return config.get(name, parameterClass);
+		return value.get(parameterClass);
 	}
 	
 	private Set<Class<?>> getEnclosingClasses() {
@@ -422,6 +458,14 @@ public class InterfaceConfigImpl {
 			return Collections.emptyList();
 		}
 		
+		if(type == LongSet.class) {
+			return LongSet.empty();
+		}
+		
+		if(type == IntSet.class) {
+			return IntSet.empty();
+		}
+		
 		if(Set.class.isAssignableFrom(type)) {
 			return Collections.emptySet();
 		}
@@ -430,6 +474,18 @@ public class InterfaceConfigImpl {
 			return Collections.emptyMap();
 		}
 		
+		if(type == long[].class) {
+			return new long[0];
+		}
+		
+		if(type == int[].class) {
+			return new int[0];
+		}
+		
+		if(type == double[].class) {
+			return new double[0];
+		}
+		
 		if(this.isConfig(type)) {
 			return InterfaceConfigImpl.createInternal(ConfigFactory.empty(), this, type);
 		}
@@ -478,10 +534,10 @@ public class InterfaceConfigImpl {
 		return null;
 	}
 	
-	private Object computeValue(Object instance, Method method, String name) {		
+	private Object computeValue(Object instance, Method method, IConfigValue value) {
 		Class<?> returnType = method.getReturnType();
-		if(this.config.has(name)) {
-			return this.getValue(method.getGenericReturnType(), returnType, this.config, name);
+		if(value.isPresent()) {
+			return this.getValue(method.getGenericReturnType(), returnType, value);
 		}
 		
 		/*
@@ -701,6 +757,14 @@ public class InterfaceConfigImpl {
 			wrappedMethods = Collections.emptyMap();
 		}
 		
+		Map<Method, String> names = new HashMap<>();
+		for(Method method : propertyMethods) {
+			names.put(method, this.getName(naming, method));
+		}
+		
+		/* Look up all of the properties at once, this is cheaper than looking them up one by one */
+		Map<String, IConfigValue> values = this.config.getAll(names.values());
+		
 		/*
 		 * This is necessary to ensure that only a single value is created from a method,
 		 * due to the fact that you can call other methods from the default implementation
@@ -721,8 +785,8 @@ public class InterfaceConfigImpl {
 					instance = proxy;
 				}
 				
-				String name = this.getName(naming, method);
-				Object value = this.convertDefaultValue(method.getReturnType(), this.computeValue(instance, method, name));
+				String name = names.get(method);
+				Object value = this.convertDefaultValue(method.getReturnType(), this.computeValue(instance, method, values.get(name)));
 				
 				this.valueByMethod.put(method.getName(), value);
 				this.valueByName.put(name, value);
@@ -754,8 +818,8 @@ public class InterfaceConfigImpl {
 				instance = this.proxy;
 			}
 			
-			String name = this.getName(naming, method);
-			Object value = this.convertDefaultValue(method.getReturnType(), this.computeValue(instance, method, name));
+			String name = names.get(method);
+			Object value = this.convertDefaultValue(method.getReturnType(), this.computeValue(instance, method, values.get(name)));
 			
 			this.valueByMethod.put(method.getName(), value);
 			this.valueByName.put(name, value);
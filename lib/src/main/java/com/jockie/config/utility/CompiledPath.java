@@ -0,0 +1,248 @@
+package com.jockie.config.utility;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * A path which can index into lists, "hosts[0].port" gets the port of the first host
+ * and "hosts[*].port" gets the port of every host, the path is parsed once and is
+ * then evaluated step by step.
+ * <br><br>
+ * A wildcard does not copy the list, it returns a read-only projection of the list
+ * which evaluates the rest of the path for an element when it is accessed, elements
+ * where the rest of the path does not exist are null.
+ */
+public class CompiledPath {
+	
+	private static final int KEY = -1;
+	private static final int WILDCARD = -2;
+	
+	/**
+	 * @return the index of the suffix, "[0][*]", of the part or -1 if the part does not end with a valid suffix
+	 */
+	private static int findSuffix(String part) {
+		int start = part.indexOf('[');
+		if(start == -1) {
+			return -1;
+		}
+		
+		int i = start;
+		while(i < part.length()) {
+			if(part.charAt(i) != '[') {
+				return -1;
+			}
+			
+			int end = part.indexOf(']', i);
+			if(end == -1 || end == i + 1) {
+				return -1;
+			}
+			
+			if(end != i + 2 || part.charAt(i + 1) != '*') {
+				for(int j = i + 1; j < end; j++) {
+					char character = part.charAt(j);
+					if(character < '0' || character > '9') {
+						return -1;
+					}
+				}
+			}
+			
+			i = end + 1;
+		}
+		
+		return start;
+	}
+	
+	/**
+	 * @return the compiled path or null if the path does not contain any index or wildcard,
+	 * in which case it should be handled as a normal path
+	 */
+	public static CompiledPath compile(String path) {
+		if(path.indexOf('[') == -1) {
+			return null;
+		}
+		
+		String[] parts = MapUtility.splitPath(path);
+		
+		List<String> keys = new ArrayList<>();
+		List<Integer> indices = new ArrayList<>();
+		
+		/* The number of steps before the first index or wildcard */
+		int prefixLength = -1;
+		
+		for(String part : parts) {
+			int suffix = CompiledPath.findSuffix(part);
+			if(suffix == -1) {
+				keys.add(part);
+				indices.add(KEY);
+				
+				continue;
+			}
+			
+			if(suffix > 0) {
+				keys.add(part.substring(0, suffix));
+				indices.add(KEY);
+			}
+			
+			if(prefixLength == -1) {
+				prefixLength = keys.size();
+			}
+			
+			for(int i = suffix; i < part.length(); i = part.indexOf(']', i) + 1) {
+				String index = part.substring(i + 1, part.indexOf(']', i));
+				
+				keys.add(null);
+				
+				if(index.equals("*")) {
+					indices.add(WILDCARD);
+				}else{
+					try {
+						indices.add(Integer.parseInt(index));
+					}catch(NumberFormatException e) {
+						/* Out of range, there can not be a list that big */
+						indices.add(Integer.MAX_VALUE);
+					}
+				}
+			}
+		}
+		
+		if(prefixLength == -1) {
+			return null;
+		}
+		
+		int[] indexArray = new int[indices.size()];
+		for(int i = 0; i < indexArray.length; i++) {
+			indexArray[i] = indices.get(i);
+		}
+		
+		return new CompiledPath(path, keys.toArray(new String[0]), indexArray, prefixLength);
+	}
+	
+	private final String path;
+	
+	private final String[] keys;
+	private final int[] indices;
+	
+	private final int prefixLength;
+	private final String prefix;
+	
+	private CompiledPath(String path, String[] keys, int[] indices, int prefixLength) {
+		this.path = path;
+		this.keys = keys;
+		this.indices = indices;
+		this.prefixLength = prefixLength;
+		
+		this.prefix = prefixLength > 0 ? String.join(".", Arrays.copyOf(keys, prefixLength)) : null;
+	}
+	
+	public String getPath() {
+		return this.path;
+	}
+	
+	/**
+	 * @return the normal path, "x.y", before the first index or wildcard, this can be looked up
+	 * directly, null if the path starts with an index or wildcard
+	 */
+	public String getPrefix() {
+		return this.prefix;
+	}
+	
+	/**
+	 * @return the value at the path or {@link MapUtility#MISSING} if there is no value
+	 */
+	public Object evaluate(Map<?, ?> root) {
+		return this.evaluate(root, 0);
+	}
+	
+	/**
+	 * @param prefixValue the value at {@link #getPrefix()}
+	 * 
+	 * @return the value at the path or {@link MapUtility#MISSING} if there is no value
+	 */
+	public Object evaluateFromPrefix(Object prefixValue) {
+		return this.evaluate(prefixValue, this.prefixLength);
+	}
+	
+	private static List<?> asList(Object value) {
+		if(value instanceof List) {
+			return (List<?>) value;
+		}
+		
+		/* Lists may be stored as a string, "[x, y, z]", such as in the system properties */
+		if(value instanceof String) {
+			String string = (String) value;
+			if(string.startsWith("[") && string.endsWith("]")) {
+				return DataTypeUtility.parseList(string);
+			}
+		}
+		
+		return null;
+	}
+	
+	@SuppressWarnings("unchecked")
+	private Object evaluate(Object value, int step) {
+		for(int i = step; i < this.indices.length; i++) {
+			if(value == MapUtility.MISSING) {
+				return MapUtility.MISSING;
+			}
+			
+			int index = this.indices[i];
+			if(index == KEY) {
+				if(!(value instanceof Map)) {
+					return MapUtility.MISSING;
+				}
+				
+				value = ((Map<Object, Object>) value).getOrDefault(this.keys[i], MapUtility.MISSING);
+				
+				continue;
+			}
+			
+			List<?> list = CompiledPath.asList(value);
+			if(list == null) {
+				return MapUtility.MISSING;
+			}
+			
+			if(index == WILDCARD) {
+				return new Projection(list, i + 1);
+			}
+			
+			if(index >= list.size()) {
+				return MapUtility.MISSING;
+			}
+			
+			value = list.get(index);
+		}
+		
+		return value;
+	}
+	
+	private class Projection extends AbstractList<Object> implements RandomAccess {
+		
+		private final List<?> list;
+		private final int step;
+		
+		public Projection(List<?> list, int step) {
+			this.list = list;
+			this.step = step;
+		}
+		
+		@Override
+		public Object get(int index) {
+			Object value = CompiledPath.this.evaluate(this.list.get(index), this.step);
+			return value != MapUtility.MISSING ? value : null;
+		}
+		
+		@Override
+		public int size() {
+			return this.list.size();
+		}
+	}
+	
+	@Override
+	public String toString() {
+		return this.path;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,207 @@
+package com.jockie.config.utility;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import com.jockie.config.IConfig;
+import com.jockie.config.collection.FrozenList;
+import com.jockie.config.collection.FrozenMap;
+
+/**
+ * Deduplicates the keys and values of configs, equal strings, boxed primitives and equal
+ * maps and lists are replaced with a single shared instance. This is mostly useful for configs
+ * which are created from many layers or files which repeat the same keys and values.
+ * <br><br>
+ * The intern table is scoped to the compactor, the same compactor can be used to compact multiple
+ * configs which should share their values, and it should be dropped once the configs are compacted,
+ * it holds on to every value it has seen.
+ * <br><br>
+ * The bytes saved are an estimate which assumes a 64-bit Java 8 JVM with compressed references,
+ * newer versions which store latin-1 strings with a single byte per character save less.
+ * 
+ * @see IConfig#compact(ConfigCompactor)
+ */
+public class ConfigCompactor {
+	
+	/** The canonical instance of each value, the hash codes of frozen maps and lists are cached so they are only computed once */
+	private final Map<Object, Object> values = new HashMap<>();
+	
+	/** The result of every value which has already been compacted, frozen nodes are often shared between configs */
+	private final Map<Object, Object> compacted = new IdentityHashMap<>();
+	
+	private long bytesSaved;
+	private int deduplicated;
+	
+	/**
+	 * @return the frozen and compacted map of the config, see {@link MapUtility#freeze(IConfig)}
+	 */
+	public Map<String, Object> compact(IConfig config) {
+		return this.compact(MapUtility.freeze(config));
+	}
+	
+	/**
+	 * @param map the map to compact, the map is frozen first if it is not already frozen
+	 * 
+	 * @return the frozen and compacted map
+	 */
+	@SuppressWarnings("unchecked")
+	public Map<String, Object> compact(Map<String, ?> map) {
+		return (Map<String, Object>) this.compactValue(MapUtility.freeze(map, false));
+	}
+	
+	/**
+	 * @return the estimated number of bytes which are no longer referenced by the compacted configs
+	 */
+	public long getBytesSaved() {
+		return this.bytesSaved;
+	}
+	
+	/**
+	 * @return the number of values which were replaced with an equal value
+	 */
+	public int getDeduplicated() {
+		return this.deduplicated;
+	}
+	
+	private static boolean isInternable(Object value) {
+		/* Only values which are known to be immutable, subclasses could be mutable */
+		Class<?> type = value.getClass();
+		return type == String.class
+			|| type == Integer.class
+			|| type == Long.class
+			|| type == Double.class
+			|| type == Float.class
+			|| type == Short.class
+			|| type == Byte.class
+			|| type == Character.class
+			|| type == Boolean.class;
+	}
+	
+	private static long align(long size) {
+		return (size + 7) & ~7;
+	}
+	
+	/**
+	 * @return the estimated size of the object itself, not including any of the values it references
+	 */
+	private static long sizeOf(Object value) {
+		if(value instanceof String) {
+			/* The Java 8 layout, the library targets Java 8 which does not have compact strings */
+			return 24 + ConfigCompactor.align(16 + 2L * ((String) value).length());
+		}
+		
+		if(value instanceof Long || value instanceof Double) {
+			return 24;
+		}
+		
+		if(value instanceof FrozenMap) {
+			/* The nodes of a large map are counted as if they were a single array */
+			return 32 + ConfigCompactor.align(16 + 8L * ((FrozenMap<?, ?>) value).size());
+		}
+		
+		if(value instanceof FrozenList) {
+			return 24 + ConfigCompactor.align(16 + 4L * ((FrozenList<?>) value).size());
+		}
+		
+		return 16;
+	}
+	
+	/**
+	 * @return the canonical instance of the value, the value itself if it is the first of its kind
+	 */
+	private Object intern(Object value) {
+		Object canonical = this.values.putIfAbsent(value, value);
+		if(canonical == null) {
+			return value;
+		}
+		
+		if(canonical != value) {
+			this.bytesSaved += ConfigCompactor.sizeOf(value);
+			this.deduplicated++;
+		}
+		
+		return canonical;
+	}
+	
+	private Object compactValue(Object value) {
+		if(value == null) {
+			return null;
+		}
+		
+		Object result = this.compacted.get(value);
+		if(result != null) {
+			return result;
+		}
+		
+		if(value instanceof FrozenMap) {
+			result = this.intern(this.compactMap((FrozenMap<?, ?>) value));
+		}else if(value instanceof FrozenList) {
+			result = this.intern(this.compactList((FrozenList<?>) value));
+		}else if(ConfigCompactor.isInternable(value)) {
+			result = this.intern(value);
+		}else{
+			result = value;
+		}
+		
+		this.compacted.put(value, result);
+		
+		return result;
+	}
+	
+	/**
+	 * @return the map with compacted keys and values, the same map if nothing changed
+	 */
+	private FrozenMap<?, ?> compactMap(FrozenMap<?, ?> map) {
+		Object[] keys = new Object[map.size()];
+		Object[] values = new Object[map.size()];
+		
+		boolean changed = false;
+		
+		int index = 0;
+		for(Entry<?, ?> entry : map.entrySet()) {
+			keys[index] = this.compactValue(entry.getKey());
+			values[index] = this.compactValue(entry.getValue());
+			
+			changed |= keys[index] != entry.getKey() || values[index] != entry.getValue();
+			index++;
+		}
+		
+		if(!changed) {
+			return map;
+		}
+		
+		FrozenMap.Builder<Object, Object> builder = FrozenMap.builder();
+		for(int i = 0; i < keys.length; i++) {
+			builder.put(keys[i], values[i]);
+		}
+		
+		return builder.build();
+	}
+	
+	/**
+	 * @return the list with compacted elements, the same list if nothing changed
+	 */
+	private FrozenList<?> compactList(FrozenList<?> list) {
+		Object[] elements = new Object[list.size()];
+		
+		boolean changed = false;
+		for(int i = 0; i < elements.length; i++) {
+			elements[i] = this.compactValue(list.get(i));
+			
+			changed |= elements[i] != list.get(i);
+		}
+		
+		if(!changed) {
+			return list;
+		}
+		
+		return new FrozenList<>(elements);
+	}
+	
+	@Override
+	public String toString() {
+		return "ConfigCompactor{deduplicated=" + this.deduplicated + ", bytesSaved=" + this.bytesSaved + "}";
+	}
+}
\ No newline at end of file
@@ -2,7 +2,14 @@ package com.jockie.config.utility;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 public class DataTypeUtility {
@@ -159,25 +166,154 @@ public class DataTypeUtility {
 		return (T) object;
 	}
 	
+	/**
+	 * Lookup table for the constants of an enum, the names are matched the same way as
+	 * {@link DataTypeUtility#parseEnum(Class, String)} describes without having to create
+	 * a normalized copy of the string.
+	 */
+	private static class EnumTable {
+		
+		/* 
+		 * Allows the enum name to be used in a more friendly way, allowing it to be
+		 * in lowercase or separated by a dash or space instead of underscore, this
+		 * makes the assumption that every enum follows the uppercase naming convetion,
+		 * which may not always be the case, so we might want to have some alternative
+		 * for that.
+		 */
+		private static char normalize(char character) {
+			if(character == ' ' || character == '-') {
+				return '_';
+			}
+			
+			return Character.toUpperCase(character);
+		}
+		
+		private static int hash(String string) {
+			/* Same as String#hashCode of the normalized string */
+			int hash = 0;
+			for(int i = 0; i < string.length(); i++) {
+				hash = 31 * hash + EnumTable.normalize(string.charAt(i));
+			}
+			
+			return hash ^ (hash >>> 16);
+		}
+		
+		private static boolean matches(String name, String string) {
+			if(name.length() != string.length()) {
+				return false;
+			}
+			
+			for(int i = 0; i < name.length(); i++) {
+				if(name.charAt(i) != EnumTable.normalize(string.charAt(i))) {
+					return false;
+				}
+			}
+			
+			return true;
+		}
+		
+		private final String[] names;
+		private final Enum<?>[] constants;
+		
+		private final String possibleValues;
+		
+		public EnumTable(Class<?> enumClass) {
+			Enum<?>[] constants = (Enum<?>[]) enumClass.getEnumConstants();
+			
+			int tableSize = 2;
+			while(tableSize < constants.length * 2) {
+				tableSize <<= 1;
+			}
+			
+			this.names = new String[tableSize];
+			this.constants = new Enum<?>[tableSize];
+			
+			int mask = tableSize - 1;
+			for(Enum<?> constant : constants) {
+				String name = constant.name();
+				
+				int index = EnumTable.hash(name) & mask;
+				while(this.names[index] != null) {
+					index = (index + 1) & mask;
+				}
+				
+				this.names[index] = name;
+				this.constants[index] = constant;
+			}
+			
+			this.possibleValues = Arrays.stream(constants)
+				.map(Enum::name)
+				.collect(Collectors.joining(", "));
+		}
+		
+		public Enum<?> get(String string) {
+			int mask = this.names.length - 1;
+			
+			int index = EnumTable.hash(string) & mask;
+			for(String name; (name = this.names[index]) != null; index = (index + 1) & mask) {
+				if(EnumTable.matches(name, string)) {
+					return this.constants[index];
+				}
+			}
+			
+			return null;
+		}
+	}
+	
+	private static final ClassValue<EnumTable> ENUM_TABLES = new ClassValue<EnumTable>() {
+		@Override
+		protected EnumTable computeValue(Class<?> type) {
+			return new EnumTable(type);
+		}
+	};
+	
 	public static <T extends Enum<T>> T parseEnum(Class<T> enumClass, String string) {
+		EnumTable table = DataTypeUtility.ENUM_TABLES.get(enumClass);
+		
+		Enum<?> constant = table.get(string);
+		if(constant != null) {
+			return enumClass.cast(constant);
+		}
+		
 		try {
 			/* 
-			 * Allows the enum name to be used in a more friendly way, allowing it to be
-			 * in lowercase or separated by a dash or space instead of underscore, this
-			 * makes the assumption that every enum follows the uppercase naming convetion,
-			 * which may not always be the case, so we might want to have some alternative
-			 * for that.
+			 * The character by character comparison does not handle case conversions which
+			 * change the length of the string, those are still handled by String#toUpperCase
 			 */
 			return Enum.valueOf(enumClass, string.toUpperCase()
 				.replace(" ", "_")
 				.replace("-", "_"));
 		}catch(IllegalArgumentException e) {
-			String possibleValues = Arrays.stream(enumClass.getEnumConstants())
-				.map(Enum::name)
-				.collect(Collectors.joining(", "));
+			throw new IllegalArgumentException("Unable to convert value: " + string + " (of type: " + string.getClass() + "), to: " + enumClass + ", possible values: " + table.possibleValues, e);
+		}
+	}
+	
+	/**
+	 * @return a new modifiable set containing the values, this is an {@link EnumSet} for enums
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public static <T> Set<T> createSet(Class<T> elementType, Collection<? extends T> values) {
+		/* EnumSet does not allow null */
+		if(elementType != null && elementType.isEnum() && !values.contains(null)) {
+			Set<T> set = EnumSet.noneOf((Class) elementType);
+			set.addAll(values);
 			
-			throw new IllegalArgumentException("Unable to convert value: " + string + " (of type: " + string.getClass() + "), to: " + enumClass + ", possible values: " + possibleValues, e);
+			return set;
 		}
+		
+		return new HashSet<>(values);
+	}
+	
+	/**
+	 * @return a new modifiable map, this is an {@link EnumMap} for enum keys
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public static <K, V> Map<K, V> createMap(Class<K> keyType, int size) {
+		if(keyType != null && keyType.isEnum()) {
+			return new EnumMap(keyType);
+		}
+		
+		return new HashMap<>(size);
 	}
 	
 	public static Number parseNumber(String value) {
@@ -202,6 +338,106 @@ public class DataTypeUtility {
 		throw new IllegalArgumentException("Unable to convert value: " + string + " (of type: " + string.getClass() + "), to: " + boolean.class + ", possible values: true, false, yes, no");
 	}
 	
+	/*
+	 * The primitive conversions below avoid boxing the value when it is already a
+	 * number or boolean, which is the case for most parsed configs.
+	 */
+	
+	private static IllegalArgumentException unableToConvert(Object value, Class<?> type) {
+		return new IllegalArgumentException("Unable to convert value: " + value + " (of type: " + (value != null ? value.getClass() : null) + "), to: " + type);
+	}
+	
+	public static long toLong(Object value) {
+		if(value instanceof Number) {
+			return ((Number) value).longValue();
+		}
+		
+		if(value instanceof String) {
+			return DataTypeUtility.parseNumber((String) value).longValue();
+		}
+		
+		if(value == null) {
+			throw DataTypeUtility.unableToConvert(value, long.class);
+		}
+		
+		return (long) DataTypeUtility.convert(value, long.class);
+	}
+	
+	public static int toInt(Object value) {
+		if(value instanceof Number) {
+			return ((Number) value).intValue();
+		}
+		
+		if(value instanceof String) {
+			return DataTypeUtility.parseNumber((String) value).intValue();
+		}
+		
+		if(value == null) {
+			throw DataTypeUtility.unableToConvert(value, int.class);
+		}
+		
+		return (int) DataTypeUtility.convert(value, int.class);
+	}
+	
+	public static double toDouble(Object value) {
+		if(value instanceof Number) {
+			return ((Number) value).doubleValue();
+		}
+		
+		if(value instanceof String) {
+			return DataTypeUtility.parseNumber((String) value).doubleValue();
+		}
+		
+		if(value == null) {
+			throw DataTypeUtility.unableToConvert(value, double.class);
+		}
+		
+		return (double) DataTypeUtility.convert(value, double.class);
+	}
+	
+	public static boolean toBoolean(Object value) {
+		if(value instanceof Boolean) {
+			return (Boolean) value;
+		}
+		
+		if(value instanceof String) {
+			return DataTypeUtility.parseBoolean((String) value);
+		}
+		
+		if(value == null) {
+			throw DataTypeUtility.unableToConvert(value, boolean.class);
+		}
+		
+		return (boolean) DataTypeUtility.convert(value, boolean.class);
+	}
+	
+	public static long[] toLongArray(List<?> list) {
+		long[] array = new long[list.size()];
+		for(int i = 0; i < array.length; i++) {
+			array[i] = DataTypeUtility.toLong(list.get(i));
+		}
+		
+		return array;
+	}
+	
+	public static int[] toIntArray(List<?> list) {
+		int[] array = new int[list.size()];
+		for(int i = 0; i < array.length; i++) {
+			array[i] = DataTypeUtility.toInt(list.get(i));
+		}
+		
+		return array;
+	}
+	
+	public static double[] toDoubleArray(List<?> list) {
+		double[] array = new double[list.size()];
+		for(int i = 0; i < array.length; i++) {
+			array[i] = DataTypeUtility.toDouble(list.get(i));
+		}
+		
+		return array;
+	}
+	
 	/* TODO: Replace this with converter classes for the ability to easily extend it */
 	public static Object convert(Object value, Class<?> type) {
 		if(value == null || type == null) {
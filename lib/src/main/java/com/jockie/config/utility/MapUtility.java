@@ -1,59 +1,200 @@
 package com.jockie.config.utility;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
 
-import org.apache.commons.text.StringSubstitutor;
+import com.jockie.config.IConfig;
+import com.jockie.config.IConfigVisitor;
+import com.jockie.config.collection.FrozenList;
+import com.jockie.config.collection.FrozenMap;
 
 public class MapUtility {
 	
+	/**
+	 * Returned by raw lookups when there is no value at the given path,
+	 * this is used instead of null as null is a valid config value.
+	 */
+	public static final Object MISSING = new Object();
+	
+	/**
+	 * Splits a path on ".", this is equivalent to <code>path.split("\\.")</code>
+	 * but without the overhead of the regex.
+	 */
+	public static String[] splitPath(String path) {
+		int count = 1;
+		for(int i = 0; i < path.length(); i++) {
+			if(path.charAt(i) == '.') {
+				count++;
+			}
+		}
+		
+		/* Trailing empty parts are removed, this is to keep the behaviour of String#split */
+		int end = path.length();
+		while(end > 0 && path.charAt(end - 1) == '.') {
+			end--;
+			count--;
+		}
+		
+		if(count <= 1) {
+			return new String[] { path.substring(0, end) };
+		}
+		
+		String[] parts = new String[count];
+		
+		int start = 0;
+		for(int i = 0; i < count - 1; i++) {
+			int index = path.indexOf('.', start);
+			parts[i] = path.substring(start, index);
+			start = index + 1;
+		}
+		
+		parts[count - 1] = path.substring(start, end);
+		return parts;
+	}
+	
+	/**
+	 * @return the value at the path or {@link #MISSING} if there is no value
+	 */
 	@SuppressWarnings("unchecked")
-	public static <T> Collection<T> substituteClone(Collection<T> collection, StringSubstitutor substitutor) {
-		Collection<T> result = new ArrayList<>(collection.size());
-		for(T value : collection) {
-			if(value instanceof Map) {
-				result.add((T) MapUtility.substituteClone((Map<?, ?>) value, substitutor));
-			}else if(value instanceof Collection) {
-				result.add((T) MapUtility.substituteClone((Collection<?>) value, substitutor));
-			}else if(value instanceof String) {
-				result.add((T) substitutor.replace((String) value));
-			}else{
-				result.add(value);
+	public static Object getRaw(Map<?, ?> map, String[] path) {
+		Map<Object, Object> root = (Map<Object, Object>) map;
+		for(int i = 0; i < path.length; i++) {
+			Object object = root.getOrDefault(path[i], MapUtility.MISSING);
+			if(i == path.length - 1 || object == MapUtility.MISSING) {
+				return object;
 			}
+			
+			if(!(object instanceof Map)) {
+				return MapUtility.MISSING;
+			}
+			
+			root = (Map<Object, Object>) object;
 		}
 		
-		return result;
+		return MapUtility.MISSING;
 	}
 	
-	/* 
-	 * TODO: Should we substitute the keys as well?
-	 * Allowing keys to be substituted as well could enable some interesting use-cases, definitely worth considering
+	/**
+	 * Resolves all of the template variables, "${x}", in a single scan of the map, only the maps and
+	 * lists which contain a template are copied, all other maps and lists are shared with the original map.
+	 * <br><br>
+	 * Each variable is only resolved once, see {@link TemplateResolver}, the first use of a variable
+	 * resolves everything it depends on before it, which resolves all of them in dependency order.
 	 * 
-	 * TODO: Add support to substitute entire maps and collections, currently we can only substitute strings
+	 * @return the resolved frozen map, the same map if it did not contain any templates
 	 */
 	@SuppressWarnings("unchecked")
-	public static <K, V> Map<K, V> substituteClone(Map<K, V> map, StringSubstitutor substitutor) {
-		Map<K, V> result = new HashMap<>(map.size());
-		for(Entry<K, V> entry : map.entrySet()) {
-			K key = entry.getKey();
-			V value = entry.getValue();
-			if(value instanceof Map) {
-				result.put(key, (V) MapUtility.substituteClone((Map<?, ?>) value, substitutor));
-			}else if(value instanceof Collection) {
-				result.put(key, (V) MapUtility.substituteClone((Collection<?>) value, substitutor));
-			}else if(value instanceof String) {
-				result.put(key, (V) substitutor.replace((String) value));
-			}else{
-				result.put(key, value);
+	public static Map<String, Object> resolve(Map<String, ?> map, TemplateResolver resolver) {
+		return (Map<String, Object>) MapUtility.resolveValue(MapUtility.freeze(map, false), "", resolver);
+	}
+	
+	/**
+	 * Same as {@link #resolve(Map, TemplateResolver)} but for a single value, the value must already be frozen
+	 * 
+	 * @return the resolved value, the same value if it did not contain any templates
+	 */
+	public static Object resolveValue(Object value, TemplateResolver resolver) {
+		return MapUtility.resolveValue(value, null, resolver);
+	}
+	
+	/**
+	 * @return the path of the key in the map at the path, null if it can not be written as a path
+	 */
+	private static String getChildPath(String path, Object key) {
+		if(path == null || !(key instanceof String)) {
+			return null;
+		}
+		
+		String childPath = (String) key;
+		if(childPath.isEmpty() || childPath.indexOf('.') != -1 || childPath.indexOf('[') != -1) {
+			return null;
+		}
+		
+		return path.isEmpty() ? childPath : path + "." + childPath;
+	}
+	
+	/**
+	 * @param path the path of the value in the config of the resolver, null if it is not known, the maps and lists
+	 * at a known path are shared with the variables which refer to them, see {@link TemplateResolver#resolveNode(String, Object)}
+	 * 
+	 * @see #resolveValue(Object, TemplateResolver)
+	 */
+	@SuppressWarnings("unchecked")
+	public static Object resolveValue(Object value, String path, TemplateResolver resolver) {
+		if(value instanceof String) {
+			/* "${x}" can be substituted with the whole map or list at x, which is shared and not copied */
+			return resolver.resolveValue((String) value);
+		}
+		
+		if(value instanceof FrozenMap) {
+			FrozenMap<Object, Object> map = (FrozenMap<Object, Object>) value;
+			
+			/* 
+			 * TODO: Should we substitute the keys as well?
+			 * Allowing keys to be substituted as well could enable some interesting use-cases, definitely worth considering
+			 */
+			
+			/* Only created once the first value has changed */
+			FrozenMap.Builder<Object, Object> builder = null;
+			for(Entry<Object, Object> entry : map.entrySet()) {
+				Object entryValue = entry.getValue();
+				
+				String entryPath = MapUtility.getChildPath(path, entry.getKey());
+				
+				Object resolvedValue;
+				if(entryPath != null && (entryValue instanceof FrozenMap || entryValue instanceof FrozenList)) {
+					resolvedValue = resolver.resolveNode(entryPath, entryValue);
+				}else{
+					resolvedValue = MapUtility.resolveValue(entryValue, resolver);
+				}
+				if(resolvedValue == entryValue) {
+					continue;
+				}
+				
+				if(builder == null) {
+					builder = map.toBuilder();
+				}
+				
+				builder.put(entry.getKey(), resolvedValue);
 			}
+			
+			return builder != null ? builder.build() : map;
 		}
 		
-		return result;
+		if(value instanceof FrozenList) {
+			FrozenList<?> list = (FrozenList<?>) value;
+			
+			Object[] elements = null;
+			for(int i = 0; i < list.size(); i++) {
+				Object element = list.get(i);
+				
+				Object resolvedElement = MapUtility.resolveValue(element, resolver);
+				if(resolvedElement == element) {
+					continue;
+				}
+				
+				if(elements == null) {
+					elements = list.toArray();
+				}
+				
+				elements[i] = resolvedElement;
+			}
+			
+			return elements != null ? new FrozenList<>(elements) : list;
+		}
+		
+		return value;
 	}
 	
 	@SuppressWarnings("unchecked")
@@ -203,4 +344,551 @@ public class MapUtility {
 		
 		return first;
 	}
+	
+	/**
+	 * Same as {@link #deepMerge(Map, Map, boolean)} (without preferring the first) but neither of the
+	 * maps are modified and the result is frozen.
+	 * <br><br>
+	 * If the first map is already frozen only the nodes on the paths of the changed keys are copied,
+	 * everything else is shared with the first map, the frozen values of the second map are shared as well.
+	 */
+	@SuppressWarnings("unchecked")
+	public static FrozenMap<String, Object> mergeClone(Map<String, ?> first, Map<String, ?> second) {
+		FrozenMap<String, Object> result = FrozenMap.copyOf(MapUtility.freeze(first, false));
+		for(Entry<String, ?> entry : second.entrySet()) {
+			String key = entry.getKey();
+			Object secondValue = entry.getValue();
+			
+			Object firstValue = result.getOrDefault(key, MapUtility.MISSING);
+			if(firstValue == MapUtility.MISSING) {
+				result = result.with(key, MapUtility.freezeValue(secondValue));
+				
+				continue;
+			}
+			
+			if(firstValue instanceof Map && secondValue instanceof Map) {
+				result = result.with(key, MapUtility.mergeClone((Map<String, ?>) firstValue, (Map<String, ?>) secondValue));
+				
+				continue;
+			}
+			
+			/* Prefer the one with the map */
+			if(!(firstValue instanceof Map)) {
+				result = result.with(key, MapUtility.freezeValue(secondValue));
+			}
+		}
+		
+		return result;
+	}
+	
+	private static int capacity(int size) {
+		return Math.max(16, (int) (size / 0.75F) + 1);
+	}
+	
+	private static Object freezeValue(Object value) {
+		if(value instanceof FrozenMap || value instanceof FrozenList) {
+			return value;
+		}
+		
+		if(value instanceof Map) {
+			FrozenMap.Builder<Object, Object> builder = FrozenMap.builder();
+			for(Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+				builder.put(entry.getKey(), MapUtility.freezeValue(entry.getValue()));
+			}
+			
+			return builder.build();
+		}
+		
+		if(value instanceof Collection) {
+			Collection<?> collection = (Collection<?>) value;
+			
+			Object[] elements = new Object[collection.size()];
+			
+			int index = 0;
+			for(Object element : collection) {
+				elements[index++] = MapUtility.freezeValue(element);
+			}
+			
+			return new FrozenList<>(elements);
+		}
+		
+		return value;
+	}
+	
+	/**
+	 * Same as {@link #expandClone(Map)} but the maps which are reached through the map are left to
+	 * be frozen, all other values are frozen straight away. Frozen maps without any dotted keys
+	 * are reused, they are only copied if a dotted key has to be expanded into them.
+	 */
+	private static Map<String, Object> expandForFreeze(Map<String, ?> map) {
+		Map<String, Object> result = new HashMap<>(MapUtility.capacity(map.size()));
+		for(Entry<String, ?> entry : map.entrySet()) {
+			MapUtility.putExpanded(result, entry.getKey(), entry.getValue());
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * Expands and puts a single entry in to the result the same way as {@link #freeze(Map, boolean)} does,
+	 * this allows a map to be expanded while it is being read, without having to copy it first.
+	 * <br><br>
+	 * The result has to be frozen with {@link #freeze(Map, boolean)}, without expanding it again, once all the entries have been put.
+	 */
+	public static void putExpanded(Map<String, Object> result, String key, Object value) {
+		if(MapUtility.needsExpansion(value)) {
+			value = MapUtility.expandForFreeze(DataTypeUtility.cast(value));
+		}else if(!(value instanceof Map)) {
+			value = MapUtility.freezeValue(value);
+		}
+		
+		MapUtility.expandInto(result, key, value);
+	}
+	
+	private static boolean needsExpansion(Object value) {
+		return value instanceof Map && (!(value instanceof FrozenMap) || ((FrozenMap<?, ?>) value).hasDottedKeys());
+	}
+	
+	/**
+	 * Puts the already expanded value in to the result at the path of the key, "x.y" is put in to the map at "x"
+	 */
+	@SuppressWarnings("unchecked")
+	private static void expandInto(Map<String, Object> result, String key, Object value) {
+		String[] parts = key.indexOf('.') != -1 ? key.split("\\.") : null;
+		if(parts == null || parts.length == 1) {
+			result.put(key, value);
+			
+			return;
+		}
+		
+		Map<String, Object> currentMap = result;
+		for(int i = 0; i < parts.length; i++) {
+			String part = parts[i];
+			if(i != parts.length - 1) {
+				Object currentValue = currentMap.get(part);
+				if(!(currentValue instanceof Map)) {
+					currentMap.put(part, currentValue = new HashMap<>());
+				}else if(currentValue instanceof FrozenMap) {
+					currentMap.put(part, currentValue = new HashMap<>((Map<String, Object>) currentValue));
+				}
+				
+				currentMap = (Map<String, Object>) currentValue;
+			}else{
+				Object currentValue = currentMap.get(part);
+				if(!(currentValue instanceof Map)) {
+					currentMap.put(part, value);
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Clones, expands (see {@link #expandClone(Map)}) and freezes the map in a single pass,
+	 * this is the same as {@link #deepClone(Map)}, {@link #expandClone(Map)} and {@link #deepCloneUnmodifiable(Map)}
+	 * but each map and collection is only copied once.
+	 * <br><br>
+	 * Maps and lists which are already frozen, {@link FrozenMap} and {@link FrozenList}, are reused instead of being copied.
+	 * 
+	 * @return the frozen map
+	 */
+	@SuppressWarnings("unchecked")
+	public static Map<String, Object> freeze(Map<String, ?> map, boolean expand) {
+		if(!expand) {
+			return (Map<String, Object>) MapUtility.freezeValue(map);
+		}
+		
+		if(map instanceof FrozenMap && !((FrozenMap<?, ?>) map).hasDottedKeys()) {
+			return (Map<String, Object>) map;
+		}
+		
+		return (Map<String, Object>) MapUtility.freezeValue(MapUtility.expandForFreeze(map));
+	}
+	
+	/*
+	 * Parallel variants of freezing and merging for very large configs, whether or not to go parallel
+	 * is decided once, for the whole config, by counting the values up to the threshold. If it is parallel
+	 * the values of every map or list with enough values are split between the threads of the fork-join
+	 * pool, the pool of the current task or the common pool, smaller maps and lists are walked sequentially.
+	 */
+	
+	/** The threshold which disables the parallel variants */
+	public static final int SEQUENTIAL = Integer.MAX_VALUE;
+	
+	/** The number of values a map or list needs for its values to be split between threads */
+	private static final int PARALLEL_MIN_SIZE = 64;
+	
+	/**
+	 * @return the number of entries and elements in the value and all of its maps and collections,
+	 * counting stops once the limit has been reached
+	 */
+	private static int count(Object value, int limit) {
+		Collection<?> children;
+		if(value instanceof Map) {
+			children = ((Map<?, ?>) value).values();
+		}else if(value instanceof Collection) {
+			children = (Collection<?>) value;
+		}else{
+			return 0;
+		}
+		
+		int count = 0;
+		for(Object child : children) {
+			if(count >= limit) {
+				break;
+			}
+			
+			count += 1 + MapUtility.count(child, limit - count - 1);
+		}
+		
+		return count;
+	}
+	
+	/**
+	 * @return the parallelism of the pool of the current task or the common pool if there is no current task
+	 */
+	private static int getParallelism() {
+		ForkJoinPool pool = ForkJoinTask.getPool();
+		return pool != null ? pool.getParallelism() : ForkJoinPool.getCommonPoolParallelism();
+	}
+	
+	/**
+	 * @return whether or not the value has at least the threshold number of values, this is only called for the root
+	 */
+	private static boolean isParallel(Object value, int threshold) {
+		/* There is nothing to gain on a single thread */
+		if(threshold == SEQUENTIAL || MapUtility.getParallelism() <= 1) {
+			return false;
+		}
+		
+		return MapUtility.count(value, threshold) >= threshold;
+	}
+	
+	private static class ParallelTask extends RecursiveAction {
+		
+		private static final long serialVersionUID = 1L;
+		
+		private final IntConsumer action;
+		private final int start;
+		private final int end;
+		private final int batchSize;
+		
+		public ParallelTask(IntConsumer action, int start, int end, int batchSize) {
+			this.action = action;
+			this.start = start;
+			this.end = end;
+			this.batchSize = batchSize;
+		}
+		
+		@Override
+		protected void compute() {
+			if(this.end - this.start <= this.batchSize) {
+				for(int i = this.start; i < this.end; i++) {
+					this.action.accept(i);
+				}
+				
+				return;
+			}
+			
+			int middle = (this.start + this.end) >>> 1;
+			ForkJoinTask.invokeAll(new ParallelTask(this.action, this.start, middle, this.batchSize), new ParallelTask(this.action, middle, this.end, this.batchSize));
+		}
+	}
+	
+	/**
+	 * Runs the action for every index from 0 to size, in parallel if there are at least {@link #PARALLEL_MIN_SIZE} indices
+	 */
+	private static void parallelFor(int size, IntConsumer action) {
+		if(size < PARALLEL_MIN_SIZE) {
+			for(int i = 0; i < size; i++) {
+				action.accept(i);
+			}
+			
+			return;
+		}
+		
+		/* A few batches per thread so that the threads can even out large and small values */
+		int batchSize = Math.max(1, size / (MapUtility.getParallelism() * 4));
+		
+		new ParallelTask(action, 0, size, batchSize).invoke();
+	}
+	
+	private static Object freezeValueParallel(Object value) {
+		if(value instanceof FrozenMap || value instanceof FrozenList || !(value instanceof Map || value instanceof Collection)) {
+			return value;
+		}
+		
+		if(value instanceof Map) {
+			Map<?, ?> map = (Map<?, ?>) value;
+			
+			Object[] keys = new Object[map.size()];
+			Object[] values = new Object[map.size()];
+			
+			int index = 0;
+			for(Entry<?, ?> entry : map.entrySet()) {
+				keys[index] = entry.getKey();
+				values[index] = entry.getValue();
+				index++;
+			}
+			
+			MapUtility.parallelFor(values.length, (i) -> values[i] = MapUtility.freezeValueParallel(values[i]));
+			
+			/* Only the nodes are created here, the values have already been frozen */
+			FrozenMap.Builder<Object, Object> builder = FrozenMap.builder();
+			for(int i = 0; i < keys.length; i++) {
+				builder.put(keys[i], values[i]);
+			}
+			
+			return builder.build();
+		}
+		
+		Object[] elements = ((Collection<?>) value).toArray();
+		MapUtility.parallelFor(elements.length, (i) -> elements[i] = MapUtility.freezeValueParallel(elements[i]));
+		
+		return new FrozenList<>(elements);
+	}
+	
+	private static Map<String, Object> expandForFreezeParallel(Map<String, ?> map) {
+		String[] keys = new String[map.size()];
+		Object[] values = new Object[map.size()];
+		
+		int index = 0;
+		for(Entry<String, ?> entry : map.entrySet()) {
+			keys[index] = entry.getKey();
+			values[index] = entry.getValue();
+			index++;
+		}
+		
+		MapUtility.parallelFor(values.length, (i) -> {
+			Object value = values[i];
+			if(MapUtility.needsExpansion(value)) {
+				values[i] = MapUtility.expandForFreezeParallel(DataTypeUtility.cast(value));
+			}else if(!(value instanceof Map)) {
+				values[i] = MapUtility.freezeValueParallel(value);
+			}
+		});
+		
+		/* The dotted keys may share maps so they are expanded one by one */
+		Map<String, Object> result = new HashMap<>(MapUtility.capacity(map.size()));
+		for(int i = 0; i < keys.length; i++) {
+			MapUtility.expandInto(result, keys[i], values[i]);
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * Same as {@link #freeze(Map, boolean)} but if the map has at least the threshold number of
+	 * values in it, counting all of the nested values, the large maps and lists are frozen in parallel
+	 * 
+	 * @param threshold the number of values, see {@link #SEQUENTIAL}
+	 */
+	@SuppressWarnings("unchecked")
+	public static Map<String, Object> freeze(Map<String, ?> map, boolean expand, int threshold) {
+		if(!MapUtility.isParallel(map, threshold)) {
+			return MapUtility.freeze(map, expand);
+		}
+		
+		if(!expand) {
+			return (Map<String, Object>) MapUtility.freezeValueParallel(map);
+		}
+		
+		if(map instanceof FrozenMap && !((FrozenMap<?, ?>) map).hasDottedKeys()) {
+			return (Map<String, Object>) map;
+		}
+		
+		return (Map<String, Object>) MapUtility.freezeValueParallel(MapUtility.expandForFreezeParallel(map));
+	}
+	
+	/**
+	 * Same as {@link #mergeClone(Map, Map)} but if the second map has at least the threshold number of
+	 * values in it, counting all of the nested values, the keys of the large maps are merged in parallel
+	 * 
+	 * @param threshold the number of values, see {@link #SEQUENTIAL}
+	 */
+	public static FrozenMap<String, Object> mergeClone(Map<String, ?> first, Map<String, ?> second, int threshold) {
+		if(!MapUtility.isParallel(second, threshold)) {
+			return MapUtility.mergeClone(MapUtility.freeze(first, false, threshold), second);
+		}
+		
+		return MapUtility.mergeCloneParallel(MapUtility.freeze(first, false, threshold), second);
+	}
+	
+	@SuppressWarnings("unchecked")
+	private static FrozenMap<String, Object> mergeCloneParallel(Map<String, ?> first, Map<String, ?> second) {
+		FrozenMap<String, Object> result = FrozenMap.copyOf((Map<String, Object>) MapUtility.freezeValueParallel(first));
+		
+		String[] keys = new String[second.size()];
+		Object[] values = new Object[second.size()];
+		
+		int index = 0;
+		for(Entry<String, ?> entry : second.entrySet()) {
+			keys[index] = entry.getKey();
+			values[index] = entry.getValue();
+			index++;
+		}
+		
+		/* The merged value of each key, MISSING if the value of the first map is kept */
+		MapUtility.parallelFor(values.length, (i) -> {
+			Object firstValue = result.getOrDefault(keys[i], MapUtility.MISSING);
+			Object secondValue = values[i];
+			
+			if(firstValue instanceof Map && secondValue instanceof Map) {
+				values[i] = MapUtility.mergeCloneParallel((Map<String, ?>) firstValue, (Map<String, ?>) secondValue);
+			}else if(firstValue instanceof Map) {
+				/* Prefer the one with the map */
+				values[i] = MapUtility.MISSING;
+			}else{
+				values[i] = MapUtility.freezeValueParallel(secondValue);
+			}
+		});
+		
+		FrozenMap.Builder<String, Object> builder = result.toBuilder();
+		for(int i = 0; i < keys.length; i++) {
+			if(values[i] != MapUtility.MISSING) {
+				builder.put(keys[i], values[i]);
+			}
+		}
+		
+		return builder.build();
+	}
+	
+	/**
+	 * Freezes a single value the same way as the values of {@link #freeze(Map, boolean)}
+	 * 
+	 * @param expand whether or not to expand the dotted keys if the value is a map
+	 */
+	@SuppressWarnings("unchecked")
+	public static Object freezeValue(Object value, boolean expand) {
+		if(expand && value instanceof Map) {
+			return MapUtility.freeze((Map<String, ?>) value, true);
+		}
+		
+		return MapUtility.freezeValue(value);
+	}
+	
+	/**
+	 * Walks the value, see {@link IConfigVisitor}
+	 */
+	public static void visit(Map<String, ?> map, IConfigVisitor visitor) {
+		MapUtility.visit(null, map, visitor);
+	}
+	
+	private static void visit(Object key, Object value, IConfigVisitor visitor) {
+		if((value instanceof FrozenMap || value instanceof FrozenList) && visitor.visitFrozen(key, value)) {
+			return;
+		}
+		
+		if(value instanceof Map) {
+			Map<?, ?> map = (Map<?, ?>) value;
+			if(visitor.enterMap(key, map.size())) {
+				for(Entry<?, ?> entry : map.entrySet()) {
+					MapUtility.visit(entry.getKey(), entry.getValue(), visitor);
+				}
+				
+				visitor.exitMap();
+			}
+			
+			return;
+		}
+		
+		if(value instanceof Collection) {
+			Collection<?> collection = (Collection<?>) value;
+			if(visitor.enterList(key, collection.size())) {
+				for(Object element : collection) {
+					MapUtility.visit(null, element, visitor);
+				}
+				
+				visitor.exitList();
+			}
+			
+			return;
+		}
+		
+		visitor.value(key, value);
+	}
+	
+	/**
+	 * Builds a frozen copy of the visited config, frozen nodes are reused
+	 */
+	private static class FreezingVisitor implements IConfigVisitor {
+		
+		/* ArrayDeque does not allow null */
+		private static final Object NO_KEY = new Object();
+		
+		/* The maps and lists which are currently being built, either a FrozenMap.Builder or a List */
+		private final Deque<Object> nodes = new ArrayDeque<>();
+		private final Deque<Object> keys = new ArrayDeque<>();
+		
+		private Object result;
+		
+		@SuppressWarnings("unchecked")
+		private void add(Object key, Object value) {
+			Object node = this.nodes.peek();
+			if(node == null) {
+				this.result = value;
+			}else if(node instanceof FrozenMap.Builder) {
+				((FrozenMap.Builder<Object, Object>) node).put(key, value);
+			}else{
+				((List<Object>) node).add(value);
+			}
+		}
+		
+		@Override
+		public boolean visitFrozen(Object key, Object node) {
+			this.add(key, node);
+			
+			return true;
+		}
+		
+		@Override
+		public boolean enterMap(Object key, int size) {
+			this.nodes.push(FrozenMap.builder());
+			this.keys.push(key != null ? key : NO_KEY);
+			
+			return true;
+		}
+		
+		@Override
+		public void exitMap() {
+			Object key = this.keys.pop();
+			this.add(key != NO_KEY ? key : null, ((FrozenMap.Builder<?, ?>) this.nodes.pop()).build());
+		}
+		
+		@Override
+		public boolean enterList(Object key, int size) {
+			this.nodes.push(new ArrayList<>(size));
+			this.keys.push(key != null ? key : NO_KEY);
+			
+			return true;
+		}
+		
+		@Override
+		public void exitList() {
+			Object key = this.keys.pop();
+			this.add(key != NO_KEY ? key : null, new FrozenList<>(((List<?>) this.nodes.pop()).toArray()));
+		}
+		
+		@Override
+		public void value(Object key, Object value) {
+			this.add(key, value);
+		}
+	}
+	
+	/**
+	 * Creates a frozen and expanded copy of the config by visiting it, see {@link IConfig#accept(IConfigVisitor)},
+	 * this works for any config, frozen maps and lists in the config are reused as they are.
+	 */
+	@SuppressWarnings("unchecked")
+	public static Map<String, Object> freeze(IConfig config) {
+		FreezingVisitor visitor = new FreezingVisitor();
+		config.accept(visitor);
+		
+		Map<String, Object> map = (Map<String, Object>) visitor.result;
+		if(map == null) {
+			return FrozenMap.empty();
+		}
+		
+		/* Only copies the map if it has any dotted keys */
+		return MapUtility.freeze(map, true);
+	}
 }
\ No newline at end of file
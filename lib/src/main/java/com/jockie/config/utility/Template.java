@@ -0,0 +1,234 @@
+package com.jockie.config.utility;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A string with template variables, "${x} and ${y}", which has been parsed once in to literal
+ * and reference segments, resolving it only has to look up the references and concatenate the segments.
+ * <br><br>
+ * Supported syntax:
+ * <ul>
+ * <li><code>${x.y}</code>, the value at the path</li>
+ * <li><code>${x.y:-default}</code>, the value at the path or the default if there is no value, the default may contain variables as well</li>
+ * <li><code>$${x}</code>, the literal text <code>${x}</code></li>
+ * </ul>
+ * A variable without any value, and without a default, is left as it is, if none of the variables
+ * of a template can be resolved the template resolves to its source string itself.
+ */
+public class Template {
+	
+	private static final String PREFIX = "${";
+	private static final String DEFAULT_DELIMITER = ":-";
+	
+	/**
+	 * A variable in the template
+	 */
+	public static class Reference {
+		
+		private final String path;
+		
+		/** The default value, null if there is none */
+		private final Template defaultValue;
+		
+		/** The variable as it was written, "${x}", used when it can not be resolved */
+		private final String source;
+		
+		private Reference(String path, Template defaultValue, String source) {
+			this.path = path;
+			this.defaultValue = defaultValue;
+			this.source = source;
+		}
+		
+		public String getPath() {
+			return this.path;
+		}
+		
+		public Template getDefaultValue() {
+			return this.defaultValue;
+		}
+		
+		@Override
+		public String toString() {
+			return this.source;
+		}
+	}
+	
+	/**
+	 * @return whether or not the string may contain a variable, if not it does not need to be compiled
+	 */
+	public static boolean isTemplate(String string) {
+		return string.indexOf(PREFIX) != -1;
+	}
+	
+	/**
+	 * @return the index of the "}" which ends the variable starting at the index, -1 if it is never ended
+	 */
+	private static int findEnd(String string, int start) {
+		int depth = 0;
+		for(int i = start + PREFIX.length(); i < string.length(); i++) {
+			if(string.startsWith(PREFIX, i)) {
+				depth++;
+				i++;
+			}else if(string.charAt(i) == '}') {
+				if(depth == 0) {
+					return i;
+				}
+				
+				depth--;
+			}
+		}
+		
+		return -1;
+	}
+	
+	public static Template compile(String string) {
+		List<Object> segments = new ArrayList<>();
+		
+		StringBuilder literal = new StringBuilder();
+		
+		boolean escaped = false;
+		
+		int i = 0;
+		while(i < string.length()) {
+			int start = string.indexOf(PREFIX, i);
+			if(start == -1) {
+				literal.append(string, i, string.length());
+				
+				break;
+			}
+			
+			/* "$${x}" is escaped, it becomes the literal "${x}" */
+			if(start > i && string.charAt(start - 1) == '$') {
+				literal.append(string, i, start - 1).append(PREFIX);
+				i = start + PREFIX.length();
+				escaped = true;
+				
+				continue;
+			}
+			
+			int end = Template.findEnd(string, start);
+			if(end == -1) {
+				literal.append(string, i, string.length());
+				
+				break;
+			}
+			
+			literal.append(string, i, start);
+			if(literal.length() > 0) {
+				segments.add(literal.toString());
+				literal.setLength(0);
+			}
+			
+			String variable = string.substring(start + PREFIX.length(), end);
+			
+			int delimiter = variable.indexOf(DEFAULT_DELIMITER);
+			if(delimiter != -1) {
+				Template defaultValue = Template.compile(variable.substring(delimiter + DEFAULT_DELIMITER.length()));
+				segments.add(new Reference(variable.substring(0, delimiter), defaultValue, string.substring(start, end + 1)));
+			}else{
+				segments.add(new Reference(variable, null, string.substring(start, end + 1)));
+			}
+			
+			i = end + 1;
+		}
+		
+		if(literal.length() > 0) {
+			segments.add(literal.toString());
+		}
+		
+		return new Template(string, segments.toArray(), escaped);
+	}
+	
+	private final String source;
+	
+	/** Either a literal String or a {@link Reference} */
+	private final Object[] segments;
+	
+	/** Whether or not the source contains an escaped variable, "$${x}", in which case it never resolves to the source itself */
+	private final boolean escaped;
+	
+	private Template(String source, Object[] segments, boolean escaped) {
+		this.source = source;
+		this.segments = segments;
+		this.escaped = escaped;
+	}
+	
+	/**
+	 * @return the string the template was compiled from
+	 */
+	public String getSource() {
+		return this.source;
+	}
+	
+	/**
+	 * @return the reference if the template is exactly one variable, "${x}", with nothing around it, null otherwise
+	 */
+	public Reference getReference() {
+		if(this.segments.length == 1 && this.segments[0] instanceof Reference) {
+			return (Reference) this.segments[0];
+		}
+		
+		return null;
+	}
+	
+	/**
+	 * @param lookup returns the value of a path, or null if there is no value
+	 * 
+	 * @return the resolved string, the {@link #getSource() source} itself if none of the variables could be resolved
+	 */
+	public String resolve(Function<String, String> lookup) {
+		/* Most templates are a single variable, "${x}" */
+		if(this.segments.length == 1 && this.segments[0] instanceof Reference) {
+			String value = Template.resolveReference((Reference) this.segments[0], lookup);
+			return value != null ? value : this.source;
+		}
+		
+		boolean resolved = false;
+		
+		StringBuilder builder = new StringBuilder();
+		for(Object segment : this.segments) {
+			if(!(segment instanceof Reference)) {
+				builder.append((String) segment);
+				
+				continue;
+			}
+			
+			String value = Template.resolveReference((Reference) segment, lookup);
+			if(value != null) {
+				builder.append(value);
+				resolved = true;
+			}else{
+				builder.append(((Reference) segment).source);
+			}
+		}
+		
+		if(!resolved && !this.escaped) {
+			return this.source;
+		}
+		
+		return builder.toString();
+	}
+	
+	/**
+	 * @return the value or the resolved default value of the reference, null if it has neither
+	 */
+	private static String resolveReference(Reference reference, Function<String, String> lookup) {
+		String value = lookup.apply(reference.path);
+		if(value != null) {
+			return value;
+		}
+		
+		if(reference.defaultValue != null) {
+			return reference.defaultValue.resolve(lookup);
+		}
+		
+		return null;
+	}
+	
+	@Override
+	public String toString() {
+		return this.source;
+	}
+}
\ No newline at end of file
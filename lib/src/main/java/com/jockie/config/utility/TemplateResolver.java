@@ -0,0 +1,210 @@
+package com.jockie.config.utility;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.jockie.config.IConfig;
+
+/**
+ * Resolves {@link Template}s against a config, every string is only compiled once and every variable
+ * is only looked up and resolved once, the variables in the values of other variables are resolved as well.
+ * <br><br>
+ * This is thread-safe, a variable which is resolved by multiple threads at the same time may be resolved
+ * more than once but only the first result is kept, every thread gets the same instance.
+ */
+public class TemplateResolver {
+	
+	protected final IConfig config;
+	
+	/** Stored instead of null, which the maps do not allow */
+	private static final Object NULL = new Object();
+	
+	private final Map<String, Template> templates = new ConcurrentHashMap<>();
+	
+	/** The resolved value of each path, {@link #NULL} if there is no value */
+	private final Map<String, Object> values = new ConcurrentHashMap<>();
+	
+	/** The resolved map or list of each path, {@link #NULL} if the value is not a map or a list */
+	private final Map<String, Object> nodes = new ConcurrentHashMap<>();
+	
+	/** The paths which are currently being resolved by the thread, in order, used to detect cycles */
+	private final ThreadLocal<Set<String>> resolving = ThreadLocal.withInitial(LinkedHashSet::new);
+	
+	/**
+	 * @param config the config to look the variables up in
+	 */
+	public TemplateResolver(IConfig config) {
+		this.config = config;
+	}
+	
+	/**
+	 * @return the compiled template, compiled templates are cached by the resolver
+	 */
+	public Template compile(String string) {
+		return this.templates.computeIfAbsent(string, Template::compile);
+	}
+	
+	/**
+	 * @return the string with all of its variables replaced, the same instance if there was nothing to replace
+	 * 
+	 * @throws IllegalStateException if a variable refers back to itself, through any number of other variables
+	 */
+	public String resolve(String string) {
+		if(!Template.isTemplate(string)) {
+			return string;
+		}
+		
+		return this.resolve(string, this.compile(string));
+	}
+	
+	/**
+	 * @return the resolved template, the string itself if nothing was resolved, the template may have been compiled from an equal string
+	 */
+	private String resolve(String string, Template template) {
+		String resolved = template.resolve(this::lookup);
+		return resolved == template.getSource() ? string : resolved;
+	}
+	
+	/**
+	 * Same as {@link #resolve(String)} but if the string is exactly one variable, "${x}", and the value of the
+	 * variable is a map or a list, the map or list itself is returned instead of it as a string, see {@link #lookupNode(String)}
+	 * 
+	 * @throws IllegalStateException if a variable refers back to itself, through any number of other variables
+	 */
+	public Object resolveValue(String string) {
+		if(!Template.isTemplate(string)) {
+			return string;
+		}
+		
+		Template template = this.compile(string);
+		
+		Template.Reference reference = template.getReference();
+		if(reference != null) {
+			Object node = this.lookupNode(reference.getPath());
+			if(node != null) {
+				return node;
+			}
+		}
+		
+		return this.resolve(string, template);
+	}
+	
+	/**
+	 * The node is frozen and resolved once, every variable which refers to the same path gets the same instance,
+	 * and a map or list without any templates is not copied at all, it is the same instance as in the config.
+	 * 
+	 * @return the resolved map or list at the path, following any variables which are exactly one other variable,
+	 * null if the value is not a map or a list
+	 */
+	public Object lookupNode(String path) {
+		Object cached = this.nodes.get(path);
+		if(cached != null) {
+			return cached != NULL ? cached : null;
+		}
+		
+		Object raw = this.config.find(path).getRaw();
+		
+		String reference = null;
+		if(raw instanceof String && Template.isTemplate((String) raw)) {
+			Template.Reference singleReference = this.compile((String) raw).getReference();
+			if(singleReference != null) {
+				reference = singleReference.getPath();
+			}
+		}
+		
+		if(!(raw instanceof Map || raw instanceof List) && reference == null) {
+			return TemplateResolver.store(this.nodes, path, null);
+		}
+		
+		Set<String> resolving = this.enter(path);
+		try {
+			Object node;
+			if(reference != null) {
+				node = this.lookupNode(reference);
+			}else{
+				/* Wildcards return a projection of the list which has to be frozen first */
+				node = MapUtility.resolveValue(MapUtility.freezeValue(raw, false), path.indexOf('[') == -1 ? path : null, this);
+			}
+			
+			return TemplateResolver.store(this.nodes, path, node);
+		}finally{
+			resolving.remove(path);
+		}
+	}
+	
+	/**
+	 * Resolves a map or list which was found at the path while resolving a config, if it is the same
+	 * map or list as in the config of the resolver it is the same as {@link #lookupNode(String)}, which
+	 * means the variables which refer to the path get the same instance.
+	 * 
+	 * @return the resolved map or list
+	 */
+	public Object resolveNode(String path, Object node) {
+		if(this.config.find(path).getRaw() != node) {
+			return MapUtility.resolveValue(node, this);
+		}
+		
+		return this.lookupNode(path);
+	}
+	
+	/**
+	 * @return the value stored for the path, or the value another thread stored first
+	 */
+	private static Object store(Map<String, Object> map, String path, Object value) {
+		Object previous = map.putIfAbsent(path, value != null ? value : NULL);
+		if(previous != null) {
+			value = previous;
+		}
+		
+		return value != NULL ? value : null;
+	}
+	
+	/**
+	 * @return the paths which are being resolved by the current thread
+	 * 
+	 * @throws IllegalStateException if the path is already being resolved
+	 */
+	private Set<String> enter(String path) {
+		Set<String> resolving = this.resolving.get();
+		if(!resolving.add(path)) {
+			List<String> cycle = new ArrayList<>(resolving);
+			cycle = cycle.subList(cycle.indexOf(path), cycle.size());
+			
+			throw new IllegalStateException("Cyclic variable reference: " + String.join(" -> ", cycle) + " -> " + path);
+		}
+		
+		return resolving;
+	}
+	
+	/**
+	 * @return the resolved value at the path, null if there is no value
+	 */
+	public String lookup(String path) {
+		Object cached = this.values.get(path);
+		if(cached != null) {
+			return cached != NULL ? (String) cached : null;
+		}
+		
+		Set<String> resolving = this.enter(path);
+		try {
+			String value;
+			
+			Object raw = this.config.find(path).getRaw();
+			if(raw == MapUtility.MISSING) {
+				value = null;
+			}else if(raw instanceof String) {
+				value = this.resolve((String) raw);
+			}else{
+				value = this.config.getString(path);
+			}
+			
+			return (String) TemplateResolver.store(this.values, path, value);
+		}finally{
+			resolving.remove(path);
+		}
+	}
+}
\ No newline at end of file
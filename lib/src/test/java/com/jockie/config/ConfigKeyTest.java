@@ -0,0 +1,147 @@
+package com.jockie.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.jockie.config.impl.MapConfig;
+
+public class ConfigKeyTest {
+	
+	/**
+	 * Only implements the required methods, everything else uses the defaults of {@link IConfig}
+	 */
+	private static class CountingConfig implements IConfig {
+		
+		private final IConfig config;
+		
+		private int lookups;
+		
+		public CountingConfig(IConfig config) {
+			this.config = config;
+		}
+		
+		@Override
+		public boolean has(String key) {
+			this.lookups++;
+			
+			return this.config.has(key);
+		}
+		
+		@Override
+		public <T> T get(String key, Class<T> type, T defaultValue) {
+			this.lookups++;
+			
+			return this.config.get(key, type, defaultValue);
+		}
+		
+		@Override
+		public <T> List<T> getList(String key, Class<T> elementType, List<T> defaultValue) {
+			return this.config.getList(key, elementType, defaultValue);
+		}
+		
+		@Override
+		public <K, V> Map<K, V> getMap(String key, Class<K> keyType, Class<V> valueType, Map<K, V> defaultValue) {
+			return this.config.getMap(key, keyType, valueType, defaultValue);
+		}
+		
+		@Override
+		public IConfig merge(IConfig... configs) {
+			return this.config.merge(configs);
+		}
+		
+		@Override
+		public IConfig resolve(IConfig config) {
+			return this.config.resolve(config);
+		}
+		
+		@Override
+		public Map<String, Object> asMap() {
+			return this.config.asMap();
+		}
+		
+		@Override
+		public Set<String> keys() {
+			return this.config.keys();
+		}
+	}
+	
+	private static MapConfig create() {
+		Map<String, Object> map = new HashMap<>();
+		map.put("player.volume.max", "150");
+		map.put("player.enabled", true);
+		map.put("player.nothing", null);
+		map.put("hosts", Arrays.asList(ConfigKeyTest.map("port", 1), ConfigKeyTest.map("port", 2)));
+		
+		return new MapConfig(map);
+	}
+	
+	private static Map<String, Object> map(String key, Object value) {
+		Map<String, Object> map = new HashMap<>();
+		map.put(key, value);
+		
+		return map;
+	}
+	
+	@Test
+	public void testGetters() {
+		for(IConfig config : new IConfig[] { ConfigKeyTest.create(), new CountingConfig(ConfigKeyTest.create()) }) {
+			assertEquals(150, IConfig.key("player.volume.max", int.class).getInt(config));
+			assertEquals(150L, IConfig.key("player.volume.max", long.class).get(config));
+			assertTrue(IConfig.key("player.enabled", boolean.class).getBoolean(config));
+			assertEquals(2, IConfig.key("hosts[1].port", int.class).getInt(config));
+			
+			assertTrue(IConfig.key("player.nothing", String.class).has(config));
+			assertNull(IConfig.key("player.nothing", String.class).get(config, "default"));
+			
+			ConfigKey<Integer> missing = IConfig.key("player.volume.min", int.class, 10);
+			assertFalse(missing.has(config));
+			assertEquals(10, missing.get(config));
+			assertEquals(5, missing.getInt(config, 5));
+		}
+	}
+	
+	@Test
+	public void testPrimitiveDefaults() {
+		IConfig config = ConfigKeyTest.create();
+		
+		assertEquals(42, IConfig.key("missing", int.class, 42).getInt(config));
+		assertEquals(42L, IConfig.key("missing", long.class, 42L).getLong(config));
+		assertEquals(0.5D, IConfig.key("missing", double.class, 0.5D).getDouble(config));
+		assertTrue(IConfig.key("missing", boolean.class, true).getBoolean(config));
+		
+		/* Without a default value */
+		assertEquals(0, IConfig.key("missing", int.class).getInt(config));
+		assertEquals(0L, IConfig.key("missing", long.class).getLong(config));
+		assertEquals(0.0D, IConfig.key("missing", double.class).getDouble(config));
+		assertFalse(IConfig.key("missing", boolean.class).getBoolean(config));
+		
+		/* The value is used if there is one */
+		assertEquals(150, IConfig.key("player.volume.max", int.class, 42).getInt(config));
+	}
+	
+	@Test
+	public void testFindLooksUpOnce() {
+		CountingConfig config = new CountingConfig(ConfigKeyTest.create());
+		
+		IConfigValue value = config.find("player.volume.max");
+		assertEquals(1, config.lookups);
+		assertTrue(value.isPresent());
+		assertEquals("150", value.getRaw());
+		
+		assertFalse(config.find("player.volume.min").isPresent());
+		assertEquals(2, config.lookups);
+		
+		assertEquals(0, IConfig.key("player.volume.min", int.class).getInt(config));
+		assertEquals(3, config.lookups);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,92 @@
+package com.jockie.config.benchmark;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import com.jockie.config.IConfig;
+import com.jockie.config.impl.MapConfig;
+
+/**
+ * Measures the heap used per config, both right after the configs are created and after every
+ * config has been read once, which is what most configs look like for the rest of their life.
+ * <br><br>
+ * This is not a test, run it with <code>java -cp lib/build/classes/java/main:lib/build/classes/java/test com.jockie.config.benchmark.MemoryBenchmark</code>
+ */
+public class MemoryBenchmark {
+	
+	private static final int CONFIGS = 3000;
+	private static final int DEPTH = 5;
+	
+	private static Map<String, Object> createMap(Random random, int depth) {
+		Map<String, Object> map = new HashMap<>();
+		
+		int size = 1 + random.nextInt(4);
+		for(int i = 0; i < size; i++) {
+			String key = "key" + random.nextInt(10);
+			if(depth > 1 && random.nextBoolean()) {
+				map.put(key, MemoryBenchmark.createMap(random, depth - 1));
+			}else{
+				map.put(key, random.nextInt(1000));
+			}
+		}
+		
+		return map;
+	}
+	
+	private static long getUsedMemory() throws InterruptedException {
+		Runtime runtime = Runtime.getRuntime();
+		for(int i = 0; i < 5; i++) {
+			System.gc();
+			Thread.sleep(50);
+		}
+		
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+	
+	public static void main(String[] args) throws InterruptedException {
+		Random random = new Random(0);
+		
+		List<Map<String, Object>> maps = new ArrayList<>(CONFIGS);
+		for(int i = 0; i < CONFIGS; i++) {
+			maps.add(MemoryBenchmark.createMap(random, DEPTH));
+		}
+		
+		List<IConfig> configs = new ArrayList<>(CONFIGS);
+		
+		long before = MemoryBenchmark.getUsedMemory();
+		for(Map<String, Object> map : maps) {
+			configs.add(new MapConfig(map));
+		}
+		
+		long created = MemoryBenchmark.getUsedMemory();
+		
+		/* A single read of a key which is in every config, the first key of the root */
+		for(IConfig config : configs) {
+			config.has(config.keys().iterator().next());
+		}
+		
+		long read = MemoryBenchmark.getUsedMemory();
+		
+		/* Read every top-level key and one nested path of each config */
+		for(IConfig config : configs) {
+			for(String key : config.keys()) {
+				Object value = config.get(key);
+				if(value instanceof Map) {
+					config.has(key + "." + ((Map<?, ?>) value).keySet().iterator().next());
+				}
+			}
+		}
+		
+		long readAll = MemoryBenchmark.getUsedMemory();
+		
+		System.out.println("Bytes per config after creation: " + (created - before) / CONFIGS);
+		System.out.println("Bytes per config after one read: " + (read - before) / CONFIGS);
+		System.out.println("Bytes per config after reading every top-level key: " + (readAll - before) / CONFIGS);
+		
+		/* Keep everything reachable until it has been measured */
+		System.out.println(maps.size() + configs.size());
+	}
+}
\ No newline at end of file
@@ -0,0 +1,159 @@
+package com.jockie.config.collection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class FrozenMapTest {
+	
+	/** Enough keys for the map to have multiple levels, including keys with the same hash code and null */
+	private static List<String> keys() {
+		List<String> keys = new ArrayList<>();
+		for(int i = 0; i < 500; i++) {
+			keys.add("key" + i);
+		}
+		
+		/* "Aa" and "BB" have the same hash code */
+		String[] parts = { "Aa", "BB" };
+		for(String first : parts) {
+			for(String second : parts) {
+				for(String third : parts) {
+					keys.add(first + second + third);
+				}
+			}
+		}
+		
+		keys.add(null);
+		
+		return keys;
+	}
+	
+	@Test
+	public void testSameAsHashMap() {
+		List<String> keys = FrozenMapTest.keys();
+		
+		Random random = new Random(0);
+		for(int i = 0; i < 20; i++) {
+			Map<String, Object> expected = new HashMap<>();
+			FrozenMap<String, Object> map = FrozenMap.empty();
+			
+			for(int j = 0; j < 2000; j++) {
+				String key = keys.get(random.nextInt(keys.size()));
+				
+				if(random.nextInt(3) == 0) {
+					expected.remove(key);
+					map = map.without(key);
+				}else{
+					Object value = random.nextInt(10) == 0 ? null : random.nextInt(100);
+					
+					expected.put(key, value);
+					map = map.with(key, value);
+				}
+				
+				assertEquals(expected.size(), map.size());
+			}
+			
+			assertEquals(expected, map);
+			assertEquals(map, expected);
+			assertEquals(expected.hashCode(), map.hashCode());
+			
+			for(String key : keys) {
+				assertEquals(expected.containsKey(key), map.containsKey(key), key);
+				assertEquals(expected.get(key), map.get(key), key);
+				assertEquals(expected.getOrDefault(key, "default"), map.getOrDefault(key, "default"), key);
+			}
+			
+			Map<String, Object> iterated = new HashMap<>();
+			map.forEach(iterated::put);
+			assertEquals(expected, iterated);
+		}
+	}
+	
+	@Test
+	public void testCopyOnWrite() {
+		List<String> keys = FrozenMapTest.keys();
+		
+		Map<String, Object> expected = new HashMap<>();
+		for(String key : keys) {
+			expected.put(key, 1);
+		}
+		
+		FrozenMap<String, Object> map = FrozenMap.copyOf(expected);
+		
+		/* The changed maps are new maps, the original map does not change */
+		for(String key : keys) {
+			FrozenMap<String, Object> changed = map.with(key, 2);
+			assertEquals(2, changed.get(key));
+			assertEquals(map.size(), changed.size());
+			
+			FrozenMap<String, Object> removed = map.without(key);
+			assertFalse(removed.containsKey(key));
+			assertEquals(map.size() - 1, removed.size());
+		}
+		
+		assertEquals(expected, map);
+		
+		/* Nothing changed, the same map is returned */
+		assertSame(map, map.with("key0", 1));
+		assertSame(map, map.without("missing"));
+		assertSame(map, FrozenMap.copyOf(map));
+	}
+	
+	@Test
+	public void testBuilder() {
+		List<String> keys = FrozenMapTest.keys();
+		
+		Map<String, Object> expected = new HashMap<>();
+		for(String key : keys) {
+			expected.put(key, 1);
+		}
+		
+		FrozenMap<String, Object> map = FrozenMap.copyOf(expected);
+		
+		FrozenMap.Builder<String, Object> builder = map.toBuilder();
+		for(int i = 0; i < keys.size(); i += 2) {
+			builder.remove(keys.get(i));
+		}
+		
+		builder.put("new", 2);
+		assertEquals(2, builder.getOrDefault("new", null));
+		
+		FrozenMap<String, Object> built = builder.build();
+		
+		/* The nodes shared with the builder are not modified */
+		assertEquals(expected, map);
+		
+		assertEquals(keys.size() / 2 + 1, built.size());
+		for(int i = 0; i < keys.size(); i++) {
+			assertEquals(i % 2 == 1, built.containsKey(keys.get(i)));
+		}
+		
+		assertThrows(IllegalStateException.class, () -> builder.put("other", 3));
+		assertThrows(IllegalStateException.class, () -> builder.remove("new"));
+		assertThrows(IllegalStateException.class, builder::build);
+		
+		assertThrows(UnsupportedOperationException.class, () -> built.put("other", 3));
+	}
+	
+	@Test
+	public void testDottedKeys() {
+		assertFalse(FrozenMap.empty().with("a", 1).hasDottedKeys());
+		assertTrue(FrozenMap.empty().with("a.b", 1).hasDottedKeys());
+		assertTrue(FrozenMap.empty().with("a", FrozenMap.empty().with("b.c", 1)).hasDottedKeys());
+		
+		/* Removing the key does not check the rest of the map, the flag only says it may have one */
+		assertTrue(FrozenMap.empty().with("a.b", 1).without("a.b").hasDottedKeys());
+		assertNull(FrozenMap.empty().get("a.b"));
+	}
+}
\ No newline at end of file
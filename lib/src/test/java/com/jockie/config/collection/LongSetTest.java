@@ -0,0 +1,92 @@
+package com.jockie.config.collection;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.jockie.config.ConfigFactory;
+import com.jockie.config.impl.MapConfig;
+
+public class LongSetTest {
+	
+	public interface Root {
+		
+		public Set<Long> getUsers();
+		public Set<Integer> getChannels();
+	}
+	
+	@Test
+	public void testSameAsHashSet() {
+		Random random = new Random(0);
+		for(int i = 0; i < 200; i++) {
+			/* A small range so that there are duplicates and collisions */
+			long[] values = new long[random.nextInt(100)];
+			Set<Long> expected = new HashSet<>();
+			for(int j = 0; j < values.length; j++) {
+				values[j] = random.nextInt(200) - 100;
+				expected.add(values[j]);
+			}
+			
+			LongSet set = LongSet.of(values);
+			
+			assertEquals(expected, set);
+			assertEquals(set, expected);
+			assertEquals(expected.hashCode(), set.hashCode());
+			
+			for(long value = -101; value <= 101; value++) {
+				assertEquals(expected.contains(value), set.contains(value), String.valueOf(value));
+				assertEquals(expected.contains(value), set.contains((Object) value), String.valueOf(value));
+			}
+			
+			long[] array = set.toLongArray();
+			Arrays.sort(array);
+			assertArrayEquals(expected.stream().mapToLong(Long::longValue).sorted().toArray(), array);
+		}
+	}
+	
+	@Test
+	public void testZero() {
+		LongSet set = LongSet.of(0, 0, 1);
+		
+		assertEquals(2, set.size());
+		assertTrue(set.contains(0L));
+		assertFalse(set.contains((Object) 0));
+		assertFalse(LongSet.of(1).contains(0L));
+		assertFalse(LongSet.empty().contains(0L));
+	}
+	
+	@Test
+	public void testIntSet() {
+		IntSet set = IntSet.of(0, 5, -5, 5, Integer.MIN_VALUE);
+		
+		assertEquals(new HashSet<>(Arrays.asList(0, 5, -5, Integer.MIN_VALUE)), set);
+		assertTrue(set.contains(Integer.MIN_VALUE));
+		assertFalse(set.contains(6));
+		assertFalse(set.contains((Object) 5L));
+	}
+	
+	@Test
+	public void testBinding() {
+		Map<String, Object> map = new HashMap<>();
+		map.put("users", Arrays.asList(1L, 2L, 2L, 3L));
+		map.put("channels", Arrays.asList(4, 5));
+		
+		Root root = ConfigFactory.create(new MapConfig(map), Root.class);
+		
+		assertTrue(root.getUsers() instanceof LongSet);
+		assertEquals(new HashSet<>(Arrays.asList(1L, 2L, 3L)), root.getUsers());
+		
+		assertTrue(root.getChannels() instanceof IntSet);
+		assertEquals(new HashSet<>(Arrays.asList(4, 5)), root.getChannels());
+	}
+}
\ No newline at end of file
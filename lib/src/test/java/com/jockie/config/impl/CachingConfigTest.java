@@ -0,0 +1,73 @@
+package com.jockie.config.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.jockie.config.ConfigKey;
+import com.jockie.config.IConfig;
+import com.jockie.config.IConfigValue;
+
+public class CachingConfigTest {
+	
+	private static CachingConfig create() {
+		Map<String, Object> map = new HashMap<>();
+		map.put("port", "25");
+		map.put("database.host", "localhost");
+		
+		return new CachingConfig(new MapConfig(map));
+	}
+	
+	@Test
+	public void testGet() {
+		CachingConfig config = CachingConfigTest.create();
+		
+		assertEquals(25, config.getInt("port"));
+		assertEquals(25, config.getInt("port"));
+		assertSame(config.getConfig("database"), config.getConfig("database"));
+		assertEquals(-1, config.getInt("missing", -1));
+		assertEquals(-1, config.getInt("missing", -1));
+		
+		assertEquals(3, config.getMissCount());
+		assertEquals(3, config.getHitCount());
+	}
+	
+	@Test
+	public void testConfigKey() {
+		CachingConfig config = CachingConfigTest.create();
+		
+		ConfigKey<Integer> key = IConfig.key("port", int.class);
+		for(int i = 0; i < 3; i++) {
+			assertEquals(25, key.getInt(config));
+		}
+		
+		assertEquals(1, config.getMissCount());
+		assertEquals(2, config.getHitCount());
+		
+		assertEquals(0, IConfig.key("missing", int.class).getInt(config));
+		assertFalse(IConfig.key("missing", int.class).has(config));
+	}
+	
+	@Test
+	public void testGetAll() {
+		CachingConfig config = CachingConfigTest.create();
+		
+		for(int i = 0; i < 2; i++) {
+			Map<String, IConfigValue> values = config.getAll(Arrays.asList("port", "database.host", "missing"));
+			
+			assertEquals(25, values.get("port").get(int.class));
+			assertEquals("localhost", values.get("database.host").get(String.class));
+			assertFalse(values.get("missing").isPresent());
+		}
+		
+		/* The three untyped lookups and the two conversions are only missed the first time */
+		assertEquals(5, config.getMissCount());
+		assertEquals(5, config.getHitCount());
+	}
+}
\ No newline at end of file
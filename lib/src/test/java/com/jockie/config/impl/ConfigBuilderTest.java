@@ -0,0 +1,150 @@
+package com.jockie.config.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+public class ConfigBuilderTest {
+	
+	private static Map<String, Object> map(Object... entries) {
+		Map<String, Object> map = new HashMap<>();
+		for(int i = 0; i < entries.length; i += 2) {
+			map.put((String) entries[i], entries[i + 1]);
+		}
+		
+		return map;
+	}
+	
+	@Test
+	public void testSet() {
+		MapConfig config = new ConfigBuilder()
+			.set("a.b.c", 1)
+			.set("a.b.d", 2)
+			.set("a.e", "x")
+			.freeze();
+		
+		assertEquals(ConfigBuilderTest.map("a", ConfigBuilderTest.map("b", ConfigBuilderTest.map("c", 1, "d", 2), "e", "x")), config.asMap());
+		
+		/* A value on the path which is not a map is replaced */
+		config = new ConfigBuilder(config).set("a.e.f", 3).freeze();
+		
+		assertEquals(3, config.getInt("a.e.f"));
+		assertEquals(2, config.getInt("a.b.d"));
+	}
+	
+	@Test
+	public void testRemove() {
+		MapConfig config = new ConfigBuilder()
+			.set("a.b.c", 1)
+			.set("a.b.d", 2)
+			.remove("a.b.c")
+			.remove("a.x.y")
+			.remove("missing")
+			.freeze();
+		
+		assertEquals(ConfigBuilderTest.map("a", ConfigBuilderTest.map("b", ConfigBuilderTest.map("d", 2))), config.asMap());
+		
+		config = new ConfigBuilder(config).remove("a.b").freeze();
+		
+		assertEquals(ConfigBuilderTest.map("a", ConfigBuilderTest.map()), config.asMap());
+	}
+	
+	@Test
+	public void testMergeFrom() {
+		MapConfig other = new MapConfig(ConfigBuilderTest.map(
+			"a", ConfigBuilderTest.map("b", ConfigBuilderTest.map("c", 10, "e", 5)),
+			"f", "y",
+			"g", ConfigBuilderTest.map("h", 1)));
+		
+		MapConfig config = new ConfigBuilder()
+			.set("a.b.c", 1)
+			.set("a.b.d", 2)
+			.set("f", "x")
+			.set("g", "z")
+			.mergeFrom(other)
+			.freeze();
+		
+		assertEquals(10, config.getInt("a.b.c"));
+		assertEquals(2, config.getInt("a.b.d"));
+		assertEquals(5, config.getInt("a.b.e"));
+		assertEquals("y", config.getString("f"));
+		
+		/* The map is preferred over the value */
+		assertEquals(1, config.getInt("g.h"));
+		
+		/* Changes made after merging are not applied to the merged config */
+		new ConfigBuilder(other).set("a.b.c", 20).freeze();
+		
+		assertEquals(10, other.getInt("a.b.c"));
+	}
+	
+	@Test
+	public void testFreezeTwice() {
+		ConfigBuilder builder = new ConfigBuilder().set("a.b.c", 1).set("d", 2);
+		
+		MapConfig first = builder.freeze();
+		MapConfig second = builder.freeze();
+		
+		assertNotSame(first, second);
+		assertEquals(first.asMap(), second.asMap());
+		
+		builder.set("a.b.c", 3).remove("d");
+		
+		MapConfig third = builder.freeze();
+		
+		assertEquals(1, first.getInt("a.b.c"));
+		assertEquals(1, second.getInt("a.b.c"));
+		assertEquals(3, third.getInt("a.b.c"));
+		assertTrue(first.has("d"));
+		assertTrue(second.has("d"));
+		assertFalse(third.has("d"));
+	}
+	
+	@Test
+	public void testFrozenUnchanged() {
+		ConfigBuilder builder = new ConfigBuilder().set("a.b.c", 1).set("a.x", 1);
+		
+		MapConfig frozen = builder.freeze();
+		Map<String, Object> expected = frozen.asMap();
+		
+		builder.set("a.b.c", 2)
+			.set("a.b.d", 3)
+			.set("a.x.y", 4)
+			.set("z", 5)
+			.mergeFrom(new MapConfig(ConfigBuilderTest.map("a", ConfigBuilderTest.map("b", ConfigBuilderTest.map("e", 6)))));
+		
+		MapConfig changed = builder.freeze();
+		
+		assertEquals(expected, frozen.asMap());
+		assertEquals(1, frozen.getInt("a.b.c"));
+		assertFalse(frozen.has("a.b.d"));
+		assertFalse(frozen.has("z"));
+		
+		assertEquals(2, changed.getInt("a.b.c"));
+		assertEquals(4, changed.getInt("a.x.y"));
+		assertEquals(6, changed.getInt("a.b.e"));
+	}
+	
+	@Test
+	public void testSourceUnchanged() {
+		MapConfig source = new MapConfig(ConfigBuilderTest.map("a", ConfigBuilderTest.map("b", 1, "c", ConfigBuilderTest.map("d", 2))));
+		Map<String, Object> expected = source.asMap();
+		
+		MapConfig config = new ConfigBuilder(source)
+			.set("a.b", 10)
+			.set("a.c.e", 3)
+			.remove("a.c.d")
+			.freeze();
+		
+		assertEquals(expected, source.asMap());
+		assertEquals(10, config.getInt("a.b"));
+		assertEquals(3, config.getInt("a.c.e"));
+		assertFalse(config.has("a.c.d"));
+	}
+}
\ No newline at end of file
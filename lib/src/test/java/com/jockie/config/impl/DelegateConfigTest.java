@@ -0,0 +1,77 @@
+package com.jockie.config.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.jockie.config.ConfigFactory;
+import com.jockie.config.IConfig;
+import com.jockie.config.IConfigValue;
+
+public class DelegateConfigTest {
+	
+	public interface Root {
+		
+		public String getHost();
+		public int getPort();
+	}
+	
+	/** Reads the port from another config, the same as a subclass which reads some keys from somewhere else */
+	private static class OverridingConfig extends DelegateConfig {
+		
+		private final IConfig overrides = new MapConfig(DelegateConfigTest.map("port", 8080));
+		
+		public OverridingConfig(IConfig config) {
+			super(config);
+		}
+		
+		@Override
+		public boolean has(String key) {
+			return this.overrides.has(key) || super.has(key);
+		}
+		
+		@Override
+		public <T> T get(String key, Class<T> type, T defaultValue) {
+			if(this.overrides.has(key)) {
+				return this.overrides.get(key, type, defaultValue);
+			}
+			
+			return super.get(key, type, defaultValue);
+		}
+	}
+	
+	private static Map<String, Object> map(Object... entries) {
+		Map<String, Object> map = new HashMap<>();
+		for(int i = 0; i < entries.length; i += 2) {
+			map.put((String) entries[i], entries[i + 1]);
+		}
+		
+		return map;
+	}
+	
+	@Test
+	public void testOverridingSubclass() {
+		IConfig config = new OverridingConfig(new MapConfig(DelegateConfigTest.map("host", "localhost")));
+		
+		assertEquals(8080, config.getInt("port"));
+		assertTrue(config.find("port").isPresent());
+		assertEquals(8080, config.find("port").get(int.class));
+		assertEquals(8080, config.getRaw("port"));
+		assertEquals(8080, IConfig.key("port", int.class).getInt(config));
+		assertFalse(config.find("missing").isPresent());
+		
+		Map<String, IConfigValue> values = config.getAll("host", "port");
+		assertEquals("localhost", values.get("host").get(String.class));
+		assertEquals(8080, values.get("port").get(int.class));
+		
+		/* Binding uses getAll */
+		Root root = ConfigFactory.create(config, Root.class);
+		assertEquals("localhost", root.getHost());
+		assertEquals(8080, root.getPort());
+	}
+}
\ No newline at end of file
@@ -0,0 +1,105 @@
+package com.jockie.config.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.jockie.config.IConfig;
+
+public class EnvironmentVariablesConfigTest {
+	
+	private static EnvironmentVariablesConfig create() {
+		Map<String, String> variables = new HashMap<>();
+		variables.put("JAVA_HOME", "/usr/lib/jvm");
+		variables.put("MONGODB_HOSTS_0_IP", "10.0.0.1");
+		variables.put("MONGODB_HOSTS_1_IP", "10.0.0.2");
+		variables.put("MONGODB_PORT", "27017");
+		variables.put("SHARDS_0", "a");
+		variables.put("SHARDS_00", "b");
+		variables.put("my.variable", "1");
+		variables.put("A[0]", "x");
+		
+		return new EnvironmentVariablesConfig(variables);
+	}
+	
+	@Test
+	public void testExactNames() {
+		EnvironmentVariablesConfig config = EnvironmentVariablesConfigTest.create();
+		
+		assertEquals("/usr/lib/jvm", config.getString("JAVA_HOME"));
+		assertEquals(1, config.getInt("my.variable"));
+		assertTrue(config.keys().contains("JAVA_HOME"));
+		assertEquals("/usr/lib/jvm", config.asMap().get("JAVA_HOME"));
+		
+		/* Merging keeps the exact names */
+		IConfig merged = new MapConfig(new HashMap<>()).merge(config);
+		assertEquals("/usr/lib/jvm", merged.asMap().get("JAVA_HOME"));
+		assertEquals("27017", merged.getString("MONGODB_PORT"));
+	}
+	
+	@Test
+	public void testPaths() {
+		EnvironmentVariablesConfig config = EnvironmentVariablesConfigTest.create();
+		
+		assertEquals("/usr/lib/jvm", config.getString("java.home"));
+		assertEquals(27017, config.getInt("mongodb.port"));
+		assertEquals("10.0.0.2", config.getString("mongodb.hosts[1].ip"));
+		assertEquals(Arrays.asList("10.0.0.1", "10.0.0.2"), config.getList("mongodb.hosts[*].ip", String.class));
+		assertEquals(27017, config.getConfig("mongodb").getInt("port"));
+		assertEquals(27017, IConfig.key("mongodb.port", int.class).getInt(config));
+		assertEquals(27017, config.getAll("mongodb.port").get("mongodb.port").get(int.class));
+		
+		/* Numbered parts can be used as indices as well */
+		assertEquals("10.0.0.2", config.getString("mongodb.hosts.1.ip"));
+		assertEquals("10.0.0.1", config.getString("MONGODB_HOSTS_0_IP"));
+		assertEquals("b", config.getString("shards.00"));
+		assertFalse(config.has("mongodb.hosts.2.ip"));
+		
+		assertFalse(config.has("mongodb.user"));
+		assertFalse(config.has("missing.path"));
+		assertEquals("default", config.getString("missing.path", "default"));
+	}
+	
+	@Test
+	public void testRootWithoutPaths() {
+		EnvironmentVariablesConfig config = EnvironmentVariablesConfigTest.create();
+		
+		/* "A[0]" has the root "a" but it is not a part of any path */
+		assertEquals("x", config.getString("A[0]"));
+		assertFalse(config.has("a.x"));
+		assertEquals("default", config.getString("a.x", "default"));
+	}
+	
+	@Test
+	public void testNotFrozen() {
+		Map<String, String> variables = new HashMap<>();
+		variables.put("A.B", "1");
+		
+		EnvironmentVariablesConfig config = new EnvironmentVariablesConfig(variables);
+		variables.put("C", "2");
+		
+		/* The variables are copied but they are not expanded */
+		assertEquals(Collections.singleton("A.B"), config.keys());
+		assertEquals(1, config.getInt("a.b"));
+		assertFalse(config.has("C"));
+		assertThrows(UnsupportedOperationException.class, () -> config.asMap().put("C", "2"));
+	}
+	
+	@Test
+	public void testLeadingZeroIsNotAnIndex() {
+		EnvironmentVariablesConfig config = EnvironmentVariablesConfigTest.create();
+		
+		Map<String, String> shards = config.getMap("shards", String.class);
+		assertEquals(2, shards.size());
+		assertEquals("a", shards.get("0"));
+		assertEquals("b", shards.get("00"));
+	}
+}
\ No newline at end of file
@@ -0,0 +1,153 @@
+package com.jockie.config.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.jockie.config.ConfigFactory;
+import com.jockie.config.IConfig;
+import com.jockie.config.IConfigValue;
+
+public class LayeredConfigTest {
+	
+	public interface Root {
+		
+		public Database getDatabase();
+		
+		public interface Database {
+			
+			public String getHost();
+			public int getPort();
+		}
+		
+		public default String getName() {
+			return "default";
+		}
+	}
+	
+	private static Map<String, Object> map(Object... entries) {
+		Map<String, Object> map = new HashMap<>();
+		for(int i = 0; i < entries.length; i += 2) {
+			map.put((String) entries[i], entries[i + 1]);
+		}
+		
+		return map;
+	}
+	
+	private static Map<String, Object> randomMap(Random random, int depth) {
+		Map<String, Object> map = new HashMap<>();
+		
+		int size = random.nextInt(4);
+		for(int i = 0; i < size; i++) {
+			String key = String.valueOf((char) ('a' + random.nextInt(4)));
+			
+			int type = random.nextInt(depth > 0 ? 4 : 3);
+			if(type == 0) {
+				map.put(key, random.nextInt(10));
+			}else if(type == 1) {
+				map.put(key, "value" + random.nextInt(10));
+			}else if(type == 2) {
+				map.put(key, Arrays.asList(random.nextInt(10), random.nextInt(10)));
+			}else{
+				map.put(key, LayeredConfigTest.randomMap(random, depth - 1));
+			}
+		}
+		
+		return map;
+	}
+	
+	@SuppressWarnings("unchecked")
+	private static void collectPaths(Map<String, Object> map, String prefix, List<String> paths) {
+		for(Entry<String, Object> entry : map.entrySet()) {
+			String path = prefix + entry.getKey();
+			paths.add(path);
+			
+			if(entry.getValue() instanceof Map) {
+				LayeredConfigTest.collectPaths((Map<String, Object>) entry.getValue(), path + ".", paths);
+			}
+		}
+	}
+	
+	@Test
+	public void testSameAsMerge() {
+		Random random = new Random(0);
+		for(int i = 0; i < 500; i++) {
+			IConfig[] layers = new IConfig[1 + random.nextInt(4)];
+			for(int j = 0; j < layers.length; j++) {
+				layers[j] = new MapConfig(LayeredConfigTest.randomMap(random, 3));
+			}
+			
+			IConfig merged = layers[0].merge(Arrays.copyOfRange(layers, 1, layers.length));
+			LayeredConfig layered = new LayeredConfig(layers);
+			
+			assertEquals(merged.asMap(), layered.asMap());
+			assertEquals(merged.keys(), layered.keys());
+			
+			List<String> paths = new ArrayList<>();
+			LayeredConfigTest.collectPaths(merged.asMap(), "", paths);
+			
+			for(String path : paths) {
+				assertTrue(layered.has(path), path);
+				
+				/* The untyped get is what find and getAll use */
+				assertEquals((Object) merged.get(path), layered.get(path), path);
+				assertEquals(merged.find(path).getRaw(), layered.find(path).getRaw(), path);
+				
+				if(merged.get(path) instanceof Map) {
+					assertEquals(merged.getConfig(path).asMap(), layered.getConfig(path).asMap(), path);
+					assertEquals(merged.getMap(path, Object.class), layered.getMap(path, Object.class), path);
+				}
+			}
+			
+			assertFalse(layered.has("missing"));
+			assertFalse(layered.find("missing").isPresent());
+		}
+	}
+	
+	@Test
+	public void testGetWithoutType() {
+		IConfig first = new MapConfig(LayeredConfigTest.map("x", LayeredConfigTest.map("a", 1)));
+		IConfig second = new MapConfig(LayeredConfigTest.map("x", LayeredConfigTest.map("b", 2)));
+		
+		LayeredConfig layered = new LayeredConfig(first, second);
+		
+		assertEquals(LayeredConfigTest.map("a", 1, "b", 2), layered.get("x"));
+		assertNull(layered.get("y"));
+		
+		Map<String, IConfigValue> values = layered.getAll("x", "x.a", "y");
+		assertEquals(LayeredConfigTest.map("a", 1, "b", 2), values.get("x").getRaw());
+		assertEquals(1, values.get("x.a").get(int.class));
+		assertFalse(values.get("y").isPresent());
+	}
+	
+	@Test
+	public void testTopLayerListWins() {
+		IConfig first = new MapConfig(LayeredConfigTest.map("x", Arrays.asList(1, 2)));
+		IConfig second = new MapConfig(LayeredConfigTest.map("x", Arrays.asList(3)));
+		
+		assertEquals(Arrays.asList(3), new LayeredConfig(first, second).getList("x", Integer.class));
+	}
+	
+	@Test
+	public void testBinding() {
+		IConfig first = new MapConfig(LayeredConfigTest.map("database", LayeredConfigTest.map("host", "localhost", "port", 27017)));
+		IConfig second = new MapConfig(LayeredConfigTest.map("database", LayeredConfigTest.map("host", "example.com")));
+		
+		Root root = ConfigFactory.create(new LayeredConfig(first, second), Root.class);
+		
+		assertEquals("example.com", root.getDatabase().getHost());
+		assertEquals(27017, root.getDatabase().getPort());
+		assertEquals("default", root.getName());
+	}
+}
\ No newline at end of file
@@ -0,0 +1,173 @@
+package com.jockie.config.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import com.jockie.config.IConfig;
+import com.jockie.config.IConfigValue;
+
+public class MapConfigTest {
+	
+	private static Map<String, Object> map(Object... entries) {
+		Map<String, Object> map = new HashMap<>();
+		for(int i = 0; i < entries.length; i += 2) {
+			map.put((String) entries[i], entries[i + 1]);
+		}
+		
+		return map;
+	}
+	
+	private static MapConfig createHosts() {
+		return new MapConfig(MapConfigTest.map("hosts", Arrays.asList(MapConfigTest.map("port", 1), MapConfigTest.map("port", 2)), "ports", Arrays.asList("1", "2")));
+	}
+	
+	private static List<Integer> getPorts(IConfig config) {
+		List<Integer> ports = new ArrayList<>();
+		config.forEach("hosts", IConfig.class, (host) -> ports.add(host.getInt("port")));
+		
+		return ports;
+	}
+	
+	private static Map<String, Object> randomMap(Random random, int depth) {
+		Map<String, Object> map = new HashMap<>();
+		
+		int size = 1 + random.nextInt(3);
+		for(int i = 0; i < size; i++) {
+			String key = String.valueOf((char) ('a' + random.nextInt(3)));
+			map.put(key, depth > 0 && random.nextInt(4) != 0 ? MapConfigTest.randomMap(random, depth - 1) : random.nextInt(10));
+		}
+		
+		return map;
+	}
+	
+	@SuppressWarnings("unchecked")
+	private static void collectPaths(Map<String, Object> map, String prefix, List<String> paths) {
+		for(Entry<String, Object> entry : map.entrySet()) {
+			String path = prefix + entry.getKey();
+			paths.add(path);
+			
+			/* Paths which go past a value or have a missing key somewhere along the way */
+			paths.add(path + ".x");
+			paths.add(prefix + "x." + entry.getKey());
+			
+			if(entry.getValue() instanceof Map) {
+				MapConfigTest.collectPaths((Map<String, Object>) entry.getValue(), path + ".", paths);
+			}
+		}
+	}
+	
+	@Test
+	public void testGetAll() {
+		Random random = new Random(0);
+		for(int i = 0; i < 100; i++) {
+			/* Deeper than the maps the walk starts out with */
+			Map<String, Object> map = MapConfigTest.randomMap(random, 12);
+			
+			List<String> paths = new ArrayList<>();
+			MapConfigTest.collectPaths(map, "", paths);
+			
+			MapConfig config = new MapConfig(map);
+			
+			Map<String, IConfigValue> values = config.getAll(paths);
+			assertEquals(paths.stream().distinct().count(), values.size());
+			
+			for(String path : paths) {
+				assertEquals(config.find(path).getRaw(), values.get(path).getRaw(), path);
+			}
+		}
+	}
+	
+	@Test
+	public void testForEachAfterGetList() {
+		MapConfig config = MapConfigTest.createHosts();
+		
+		assertEquals(Arrays.asList(1, 2), MapConfigTest.getPorts(config));
+		
+		List<IConfig> hosts = config.getList("hosts", IConfig.class);
+		assertEquals(2, hosts.size());
+		
+		/* The converted list is cached now, it must not be converted again */
+		assertEquals(Arrays.asList(1, 2), MapConfigTest.getPorts(config));
+		assertEquals(hosts, config.stream("hosts", IConfig.class).collect(Collectors.toList()));
+	}
+	
+	@Test
+	public void testStreamAfterGetList() {
+		MapConfig config = MapConfigTest.createHosts();
+		
+		assertEquals(Arrays.asList(1, 2), config.stream("ports", Integer.class).collect(Collectors.toList()));
+		assertEquals(Arrays.asList(1, 2), config.getList("ports", Integer.class));
+		assertEquals(Arrays.asList(1, 2), config.stream("ports", Integer.class).collect(Collectors.toList()));
+		
+		List<Integer> ports = new ArrayList<>();
+		config.forEach("ports", int.class, ports::add);
+		assertEquals(Arrays.asList(1, 2), ports);
+		
+		assertEquals(0, config.stream("missing", Integer.class).count());
+	}
+	
+	@Test
+	public void testChildConfigWithTrailingDot() {
+		MapConfig config = new MapConfig(MapConfigTest.map("x", MapConfigTest.map("y", MapConfigTest.map("z", 1))));
+		
+		IConfig child = config.getConfig("x.");
+		assertEquals(1, (int) child.get("y.z"));
+		assertTrue(child.has("y.z"));
+		assertEquals(1, child.getConfig("y").getInt("z"));
+		
+		/* The same paths through the shared index */
+		assertEquals(1, config.getConfig("x").getInt("y.z"));
+		assertEquals(1, config.getInt("x.y.z"));
+		assertEquals(1, config.getInt("x.y.z."));
+	}
+	
+	@Test
+	public void testLookups() {
+		Map<String, Object> map = MapConfigTest.map("a", MapConfigTest.map("b", null, "c.d", 2), "e", 3);
+		
+		/* Not expanded, the dotted key is not reachable as a path */
+		MapConfig config = new MapConfig(map, true, false, false);
+		
+		for(int i = 0; i < 2; i++) {
+			assertTrue(config.has("a.b"));
+			assertNull(config.get("a.b"));
+			assertFalse(config.has("a.c.d"));
+			assertFalse(config.has("a.x"));
+			assertEquals(3, config.getInt("e"));
+			assertFalse(config.has("e.f"));
+		}
+	}
+	
+	@Test
+	public void testBracketKeys() {
+		MapConfig config = new MapConfig(MapConfigTest.map("hosts", Arrays.asList(MapConfigTest.map("port", 1)), "literal[0]", "value"));
+		
+		/* The second time the cached compiled path is used */
+		for(int i = 0; i < 2; i++) {
+			assertEquals(1, config.getInt("hosts[0].port"));
+			assertEquals(Arrays.asList(1), config.getList("hosts[*].port", Integer.class));
+			assertEquals("value", config.getString("literal[0]"));
+			assertFalse(config.has("hosts[1].port"));
+			assertFalse(config.has("missing[0]"));
+			assertFalse(config.has("missing[x]"));
+		}
+		
+		IConfig child = config.getConfig("hosts[0]");
+		for(int i = 0; i < 2; i++) {
+			assertEquals(1, child.getInt("port"));
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,121 @@
+package com.jockie.config.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+import com.jockie.config.IConfig;
+
+public class ResolvingConfigTest {
+	
+	private static Map<String, Object> map(Object... entries) {
+		Map<String, Object> map = new HashMap<>();
+		for(int i = 0; i < entries.length; i += 2) {
+			map.put((String) entries[i], entries[i + 1]);
+		}
+		
+		return map;
+	}
+	
+	private static IConfig createConfig() {
+		return new MapConfig(ResolvingConfigTest.map(
+			"regions", ResolvingConfigTest.map(
+				"default", ResolvingConfigTest.map("host", "h1", "port", "${ports.default}", "tags", Arrays.asList("${name}", "b")),
+				"backup", ResolvingConfigTest.map("host", "h2")),
+			"ports", ResolvingConfigTest.map("default", 8080),
+			"name", "test",
+			"eu", "${regions.default}",
+			"us", "${eu}",
+			"url", "http://${regions.default.host}:${ports.default}",
+			"missing", "${nothing}",
+			"fallback", "${nothing:-${name}}",
+			"string", "${name}-x"));
+	}
+	
+	private static final List<String> PATHS = Arrays.asList(
+		"name", "url", "missing", "fallback", "string", "string.x",
+		"eu", "eu.host", "eu.port", "eu.tags", "eu.tags[0]", "eu.x", "eu.host.x",
+		"us.host", "us.port", "us.tags[*]",
+		"regions.default.port", "regions.backup.host", "nothing", "nothing.x");
+	
+	@Test
+	public void testSameAsResolve() {
+		IConfig config = ResolvingConfigTest.createConfig();
+		
+		IConfig resolved = config.resolve();
+		IConfig lazy = config.resolveLazily();
+		
+		/* Twice to read both the resolved and the cached values */
+		for(int i = 0; i < 2; i++) {
+			for(String path : PATHS) {
+				assertEquals(resolved.has(path), lazy.has(path), path);
+				assertEquals((Object) resolved.get(path), lazy.get(path), path);
+				assertEquals(resolved.find(path).getRaw(), lazy.find(path).getRaw(), path);
+			}
+		}
+		
+		assertEquals("h1", lazy.getString("eu.host"));
+		assertEquals(8080, lazy.getInt("us.port"));
+		assertEquals("http://h1:8080", lazy.getString("url"));
+		assertEquals(Arrays.asList("test", "b"), lazy.getList("eu.tags", String.class));
+		assertEquals("h1", lazy.getConfig("us").getString("host"));
+		
+		assertTrue(lazy.has("eu.host"));
+		assertFalse(lazy.has("eu.x"));
+		
+		assertEquals(resolved.asMap(), lazy.asMap());
+		assertEquals(resolved.keys(), lazy.keys());
+	}
+	
+	@Test
+	public void testCycle() {
+		IConfig config = new MapConfig(ResolvingConfigTest.map("a", "${b}", "b", "${c}", "c", "${a}", "d", 1));
+		IConfig lazy = config.resolveLazily();
+		
+		assertThrows(IllegalStateException.class, () -> config.resolve());
+		assertThrows(IllegalStateException.class, () -> lazy.get("a"));
+		assertThrows(IllegalStateException.class, () -> lazy.get("c.x"));
+		
+		/* The values which are not part of the cycle can still be read */
+		assertEquals(1, lazy.getInt("d"));
+	}
+	
+	@Test
+	public void testConcurrentReads() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			for(int i = 0; i < 20; i++) {
+				IConfig config = ResolvingConfigTest.createConfig();
+				IConfig resolved = config.resolve();
+				IConfig lazy = config.resolveLazily();
+				
+				List<Future<?>> futures = new ArrayList<>();
+				for(int j = 0; j < 4; j++) {
+					futures.add(executor.submit(() -> {
+						for(String path : PATHS) {
+							assertEquals((Object) resolved.get(path), lazy.get(path), path);
+						}
+					}));
+				}
+				
+				for(Future<?> future : futures) {
+					future.get();
+				}
+			}
+		}finally{
+			executor.shutdown();
+		}
+	}
+}
\ No newline at end of file
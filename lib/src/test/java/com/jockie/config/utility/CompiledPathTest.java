@@ -0,0 +1,88 @@
+package com.jockie.config.utility;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.jockie.config.IConfig;
+import com.jockie.config.impl.MapConfig;
+
+public class CompiledPathTest {
+	
+	private static Map<String, Object> map(Object... entries) {
+		Map<String, Object> map = new HashMap<>();
+		for(int i = 0; i < entries.length; i += 2) {
+			map.put((String) entries[i], entries[i + 1]);
+		}
+		
+		return map;
+	}
+	
+	private static final Map<String, Object> ROOT = CompiledPathTest.map(
+		"servers", CompiledPathTest.map(
+			"hosts", Arrays.asList(
+				CompiledPathTest.map("name", "a", "port", 1),
+				CompiledPathTest.map("name", "b"),
+				CompiledPathTest.map("name", "c", "port", 3))),
+		"matrix", Arrays.asList(Arrays.asList(1, 2), Arrays.asList(3, 4)),
+		"ids", "[5, 6]");
+	
+	@Test
+	public void testCompile() {
+		assertNull(CompiledPath.compile("servers.hosts"));
+		
+		/* Not a valid index, these are normal keys */
+		assertNull(CompiledPath.compile("servers.hosts[x]"));
+		assertNull(CompiledPath.compile("servers.hosts[]"));
+		assertNull(CompiledPath.compile("servers.hosts[0"));
+		
+		assertEquals("servers.hosts", CompiledPath.compile("servers.hosts[0].name").getPrefix());
+		assertNull(CompiledPath.compile("[0]").getPrefix());
+	}
+	
+	@Test
+	public void testIndex() {
+		assertEquals("a", CompiledPath.compile("servers.hosts[0].name").evaluate(ROOT));
+		assertEquals(3, CompiledPath.compile("servers.hosts[2].port").evaluate(ROOT));
+		assertEquals(4, CompiledPath.compile("matrix[1][1]").evaluate(ROOT));
+		assertEquals("6", CompiledPath.compile("ids[1]").evaluate(ROOT));
+		
+		assertSame(MapUtility.MISSING, CompiledPath.compile("servers.hosts[1].port").evaluate(ROOT));
+		assertSame(MapUtility.MISSING, CompiledPath.compile("servers.hosts[3].name").evaluate(ROOT));
+		assertSame(MapUtility.MISSING, CompiledPath.compile("servers.hosts[99999999999].name").evaluate(ROOT));
+		assertSame(MapUtility.MISSING, CompiledPath.compile("servers[0]").evaluate(ROOT));
+		assertSame(MapUtility.MISSING, CompiledPath.compile("missing[0]").evaluate(ROOT));
+	}
+	
+	@Test
+	public void testWildcard() {
+		assertEquals(Arrays.asList("a", "b", "c"), CompiledPath.compile("servers.hosts[*].name").evaluate(ROOT));
+		
+		/* Elements without a value are null */
+		assertEquals(Arrays.asList(1, null, 3), CompiledPath.compile("servers.hosts[*].port").evaluate(ROOT));
+		assertEquals(Arrays.asList(2, 4), CompiledPath.compile("matrix[*][1]").evaluate(ROOT));
+		assertEquals(Arrays.asList(Arrays.asList(1, 2), Arrays.asList(3, 4)), CompiledPath.compile("matrix[*][*]").evaluate(ROOT));
+	}
+	
+	@Test
+	public void testEvaluateFromPrefix() {
+		CompiledPath path = CompiledPath.compile("servers.hosts[0].name");
+		assertEquals("a", path.evaluateFromPrefix(MapUtility.getRaw(ROOT, MapUtility.splitPath(path.getPrefix()))));
+	}
+	
+	@Test
+	public void testConfig() {
+		IConfig config = new MapConfig(ROOT);
+		
+		assertEquals("b", config.getString("servers.hosts[1].name"));
+		assertNull(config.get("servers.hosts[1].port", Integer.class));
+		assertEquals(Arrays.asList("a", "b", "c"), config.getList("servers.hosts[*].name", String.class));
+		assertEquals(3, config.getInt("servers.hosts[2].port"));
+	}
+}
\ No newline at end of file
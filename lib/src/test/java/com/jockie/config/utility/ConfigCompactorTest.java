@@ -0,0 +1,96 @@
+package com.jockie.config.utility;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.jockie.config.IConfig;
+import com.jockie.config.collection.FrozenList;
+import com.jockie.config.collection.FrozenMap;
+import com.jockie.config.impl.LayeredConfig;
+import com.jockie.config.impl.MapConfig;
+
+public class ConfigCompactorTest {
+	
+	private static Map<String, Object> map(Object... entries) {
+		Map<String, Object> map = new HashMap<>();
+		for(int i = 0; i < entries.length; i += 2) {
+			map.put((String) entries[i], entries[i + 1]);
+		}
+		
+		return map;
+	}
+	
+	@Test
+	public void testSharedSubtree() {
+		Map<String, Object> first = ConfigCompactorTest.map("database", ConfigCompactorTest.map("host", "localhost", "ports", Arrays.asList(1, 2)), "name", "first");
+		Map<String, Object> second = ConfigCompactorTest.map("database", ConfigCompactorTest.map("host", "localhost", "ports", Arrays.asList(1, 2)), "name", "second");
+		
+		ConfigCompactor compactor = new ConfigCompactor();
+		Map<String, Object> firstCompacted = compactor.compact(first);
+		Map<String, Object> secondCompacted = compactor.compact(second);
+		
+		assertEquals(first, firstCompacted);
+		assertEquals(second, secondCompacted);
+		
+		/* The database map is frozen separately for both configs but only one of them is kept */
+		assertNotSame(MapUtility.freeze(first, false).get("database"), MapUtility.freeze(second, false).get("database"));
+		assertSame(firstCompacted.get("database"), secondCompacted.get("database"));
+		
+		/* The list of ports and the database map */
+		assertEquals(2, compactor.getDeduplicated());
+	}
+	
+	@Test
+	public void testCompactConfig() {
+		Map<String, Object> first = ConfigCompactorTest.map("database", ConfigCompactorTest.map("host", "localhost"), "a.b", 1);
+		Map<String, Object> second = ConfigCompactorTest.map("database", ConfigCompactorTest.map("host", "localhost"));
+		
+		ConfigCompactor compactor = new ConfigCompactor();
+		IConfig firstCompacted = new MapConfig(first, 100).compact(compactor);
+		IConfig secondCompacted = new LayeredConfig(new MapConfig(second)).compact(compactor);
+		
+		assertEquals(new MapConfig(first).asMap(), firstCompacted.asMap());
+		assertEquals(1, firstCompacted.getInt("a.b"));
+		assertEquals(100, ((MapConfig) firstCompacted).getParallelThreshold());
+		
+		assertSame(firstCompacted.asMap().get("database"), secondCompacted.asMap().get("database"));
+	}
+	
+	@Test
+	public void testBytesSaved() {
+		ConfigCompactor compactor = new ConfigCompactor();
+		compactor.compact(ConfigCompactorTest.map("key", new String("value"), "other", 1));
+		compactor.compact(ConfigCompactorTest.map("key", new String("value")));
+		
+		/* A String of 5 characters, 24 bytes for the String and 16 + 2 * 5 rounded up to 32 for its characters */
+		assertEquals(1, compactor.getDeduplicated());
+		assertEquals(56, compactor.getBytesSaved());
+	}
+	
+	@Test
+	public void testHashCode() {
+		Map<String, Object> map = ConfigCompactorTest.map("a", 1, "b", Arrays.asList("x", "y"), "c", ConfigCompactorTest.map("d", null));
+		Map<String, Object> frozen = MapUtility.freeze(map, false);
+		
+		/* Twice as the second time the cached hash code is used */
+		assertEquals(map.hashCode(), frozen.hashCode());
+		assertEquals(map.hashCode(), frozen.hashCode());
+		assertEquals(map, frozen);
+		assertEquals(frozen, map);
+		
+		FrozenList<Object> list = new FrozenList<>(new Object[] { "x", null, 1 });
+		assertEquals(Arrays.asList("x", null, 1).hashCode(), list.hashCode());
+		assertEquals(Arrays.asList("x", null, 1), list);
+		assertEquals(list, Arrays.asList("x", null, 1));
+		
+		assertEquals(0, FrozenMap.empty().hashCode());
+		assertEquals(1, FrozenList.empty().hashCode());
+	}
+}
\ No newline at end of file
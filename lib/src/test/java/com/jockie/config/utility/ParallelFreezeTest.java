@@ -0,0 +1,131 @@
+package com.jockie.config.utility;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+
+import com.jockie.config.IConfig;
+import com.jockie.config.impl.MapConfig;
+
+public class ParallelFreezeTest {
+	
+	/** The common pool may only have a single thread, in which case nothing would run in parallel */
+	private static final ForkJoinPool POOL = new ForkJoinPool(4);
+	
+	private static final int THRESHOLD = 100;
+	
+	/** Just above the threshold and wide enough for the top-level loops to be split, see MapUtility#PARALLEL_MIN_SIZE */
+	private static final int WIDTH = 80;
+	
+	@AfterAll
+	public static void shutdown() {
+		POOL.shutdown();
+	}
+	
+	private static Object randomValue(Random random, int depth) {
+		int type = random.nextInt(depth > 0 ? 5 : 2);
+		if(type == 0) {
+			return random.nextInt(10);
+		}
+		
+		if(type == 1) {
+			return "value" + random.nextInt(10);
+		}
+		
+		if(type == 2) {
+			List<Object> list = new ArrayList<>();
+			for(int i = 0, size = random.nextInt(10); i < size; i++) {
+				list.add(ParallelFreezeTest.randomValue(random, depth - 1));
+			}
+			
+			return list;
+		}
+		
+		return ParallelFreezeTest.randomMap(random, depth - 1, random.nextInt(10));
+	}
+	
+	private static Map<String, Object> randomMap(Random random, int depth, int size) {
+		Map<String, Object> map = new HashMap<>();
+		for(int i = 0; i < size; i++) {
+			String key = "key" + i;
+			
+			/* Dotted keys which may share maps with each other and with the other keys */
+			if(random.nextInt(4) == 0) {
+				key = "key" + random.nextInt(size) + ".key" + random.nextInt(5);
+			}
+			
+			map.put(key, ParallelFreezeTest.randomValue(random, depth));
+		}
+		
+		return map;
+	}
+	
+	private static Map<String, Object> createMap(Random random) {
+		Map<String, Object> map = ParallelFreezeTest.randomMap(random, 2, WIDTH);
+		
+		List<Object> list = new ArrayList<>();
+		for(int i = 0; i < WIDTH; i++) {
+			list.add(ParallelFreezeTest.randomValue(random, 1));
+		}
+		
+		map.put("list", list);
+		
+		return map;
+	}
+	
+	@Test
+	public void testFreeze() throws Exception {
+		Random random = new Random(0);
+		for(int i = 0; i < 2; i++) {
+			Map<String, Object> map = ParallelFreezeTest.createMap(random);
+			
+			Map<String, Object> sequential = MapUtility.freeze(map, true, MapUtility.SEQUENTIAL);
+			Map<String, Object> parallel = POOL.submit(() -> MapUtility.freeze(map, true, THRESHOLD)).get();
+			
+			assertEquals(sequential, parallel);
+			assertEquals(MapUtility.freeze(map, false), POOL.submit(() -> MapUtility.freeze(map, false, THRESHOLD)).get());
+		}
+	}
+	
+	@Test
+	public void testMerge() throws Exception {
+		Random random = new Random(1);
+		for(int i = 0; i < 2; i++) {
+			Map<String, Object> first = MapUtility.freeze(ParallelFreezeTest.createMap(random), true);
+			Map<String, Object> second = MapUtility.freeze(ParallelFreezeTest.createMap(random), true);
+			
+			Map<String, Object> sequential = MapUtility.mergeClone(first, second, MapUtility.SEQUENTIAL);
+			Map<String, Object> parallel = POOL.submit(() -> MapUtility.mergeClone(first, second, THRESHOLD)).get();
+			
+			assertEquals(sequential, parallel);
+		}
+	}
+	
+	@Test
+	public void testConfig() throws Exception {
+		Random random = new Random(2);
+		
+		Map<String, Object> first = ParallelFreezeTest.createMap(random);
+		Map<String, Object> second = ParallelFreezeTest.createMap(random);
+		
+		IConfig sequential = new MapConfig(first).merge(new MapConfig(second));
+		IConfig parallel = POOL.submit(() -> new MapConfig(first, THRESHOLD).merge(new MapConfig(second, THRESHOLD))).get();
+		
+		assertEquals(sequential.asMap(), parallel.asMap());
+		assertEquals(THRESHOLD, ((MapConfig) parallel).getParallelThreshold());
+		
+		/* Resolving creates a new config which keeps the threshold */
+		Map<String, Object> templated = new HashMap<>(first);
+		templated.put("template", "${list}");
+		
+		assertEquals(THRESHOLD, ((MapConfig) new MapConfig(templated, THRESHOLD).resolve()).getParallelThreshold());
+	}
+}
\ No newline at end of file
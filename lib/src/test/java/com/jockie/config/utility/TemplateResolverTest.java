@@ -0,0 +1,117 @@
+package com.jockie.config.utility;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.jockie.config.impl.MapConfig;
+
+public class TemplateResolverTest {
+	
+	private static Map<String, Object> map(Object... entries) {
+		Map<String, Object> map = new HashMap<>();
+		for(int i = 0; i < entries.length; i += 2) {
+			map.put((String) entries[i], entries[i + 1]);
+		}
+		
+		return map;
+	}
+	
+	private static TemplateResolver resolver(Object... entries) {
+		return new TemplateResolver(new MapConfig(TemplateResolverTest.map(entries)));
+	}
+	
+	@Test
+	public void testResolve() {
+		TemplateResolver resolver = TemplateResolverTest.resolver("host", "localhost", "port", 27017, "url", "${host}:${port}", "database", TemplateResolverTest.map("name", "test"));
+		
+		assertEquals("localhost", resolver.resolve("${host}"));
+		assertEquals("mongodb://localhost:27017/test", resolver.resolve("mongodb://${url}/${database.name}"));
+	}
+	
+	@Test
+	public void testDefaults() {
+		TemplateResolver resolver = TemplateResolverTest.resolver("host", "localhost");
+		
+		assertEquals("27017", resolver.resolve("${port:-27017}"));
+		assertEquals("localhost", resolver.resolve("${missing:-${host}}"));
+		assertEquals("localhost:", resolver.resolve("${host}:${port:-}"));
+		assertEquals("${other}", resolver.resolve("${missing:-${other}}"));
+	}
+	
+	@Test
+	public void testEscapes() {
+		TemplateResolver resolver = TemplateResolverTest.resolver("host", "localhost");
+		
+		assertEquals("${host}", resolver.resolve("$${host}"));
+		assertEquals("${host} localhost", resolver.resolve("$${host} ${host}"));
+		assertEquals("${missing}", resolver.resolve("$${missing}"));
+	}
+	
+	@Test
+	public void testUnresolved() {
+		TemplateResolver resolver = TemplateResolverTest.resolver();
+		
+		/* An equal string has already been compiled, the instance which was passed in is returned */
+		String first = new String("${missing}");
+		String second = new String("prefix ${missing} ${x");
+		assertSame(first, resolver.resolve(first));
+		assertSame(second, resolver.resolve(second));
+		
+		String copy = new String(first);
+		assertSame(copy, resolver.resolve(copy));
+		assertSame(copy, resolver.resolveValue(copy));
+		
+		/* Nothing could be resolved so nothing is copied */
+		Map<String, Object> map = MapUtility.freeze(TemplateResolverTest.map("a", TemplateResolverTest.map("b", "${missing}", "c", Arrays.asList("${missing}"))), false);
+		assertSame(map, MapUtility.resolve(map, resolver));
+	}
+	
+	@Test
+	public void testCycle() {
+		TemplateResolver resolver = TemplateResolverTest.resolver("a", "${b}", "b", "x${c}", "c", "${a}");
+		
+		IllegalStateException exception = assertThrows(IllegalStateException.class, () -> resolver.resolve("${a}"));
+		assertTrue(exception.getMessage().contains("a -> b -> c -> a"), exception.getMessage());
+		
+		TemplateResolver nodeResolver = TemplateResolverTest.resolver("a", "${b}", "b", "${a}");
+		assertThrows(IllegalStateException.class, () -> nodeResolver.resolveValue("${a}"));
+	}
+	
+	@Test
+	public void testNodes() {
+		Map<String, Object> map = MapUtility.freeze(TemplateResolverTest.map(
+			"database", TemplateResolverTest.map("host", "localhost", "name", "${name}"),
+			"name", "test",
+			"primary", "${database}",
+			"secondary", "${primary}",
+			"hosts", Arrays.asList("a", "b"),
+			"servers", "${hosts}"), false);
+		
+		TemplateResolver resolver = new TemplateResolver(new MapConfig(map));
+		Map<String, Object> resolved = MapUtility.resolve(map, resolver);
+		
+		assertEquals(TemplateResolverTest.map("host", "localhost", "name", "test"), resolved.get("primary"));
+		
+		/* Every variable which refers to the same map gets the same instance */
+		assertSame(resolved.get("primary"), resolved.get("secondary"));
+		assertSame(resolved.get("primary"), resolver.lookupNode("database"));
+		
+		/* The map itself is resolved once, the same as through the variables */
+		assertSame(resolved.get("database"), resolved.get("primary"));
+		assertEquals(TemplateResolverTest.map("host", "localhost", "name", "test"), resolved.get("database"));
+		
+		Map<String, Object> config = new MapConfig(map).resolve().asMap();
+		assertSame(config.get("database"), config.get("primary"));
+		
+		/* A list without any templates is not copied */
+		assertSame(map.get("hosts"), resolved.get("servers"));
+	}
+}
\ No newline at end of file